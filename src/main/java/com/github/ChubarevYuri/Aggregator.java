@@ -0,0 +1,216 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Aggregation of samples of channel by time windows: count, min, max, sum and average.
+ * <br>Window is made of buckets of {@code step} time: tumbling window has one bucket ({@code step == window}),
+ * sliding window is moved by {@code step}. Buckets are kept in primitive arrays, adding a sample does not
+ * allocate memory.
+ * <br>Windows are aligned to multiples of {@code step} and closed by the first sample after their end.
+ */
+public class Aggregator {
+
+    /**
+     * Aggregate of window [{@code start}..{@code end}).
+     * @param start start time of window.
+     * @param end end time of window.
+     * @param count count of samples.
+     * @param min min value. NaN if window is empty.
+     * @param max max value. NaN if window is empty.
+     * @param sum sum of values.
+     */
+    public record Window(long start, long end, int count, double min, double max, double sum) {
+
+        /**
+         * Return average value.
+         * @return average value. NaN if window is empty.
+         */
+        public double avg() {
+            return count > 0 ? sum / count : Double.NaN;
+        }
+    }
+
+    /**
+     * Event occurs when window with samples is closed. Raised in the thread adding sample.
+     */
+    public final Event<Window> onClosed = new Event<>();
+
+    private final long window;
+    private final long step;
+
+    private final int @NotNull [] counts;
+    private final double @NotNull [] mins;
+    private final double @NotNull [] maxs;
+    private final double @NotNull [] sums;
+
+    /**
+     * Index of the current bucket.
+     */
+    private int head = 0;
+
+    /**
+     * Start time of the current bucket. {@code Long.MIN_VALUE} if no samples.
+     */
+    private long current = Long.MIN_VALUE;
+
+    /**
+     * Count of samples in all buckets.
+     */
+    private int total = 0;
+
+    private @Nullable Window last = null;
+
+    /**
+     * Create tumbling window.
+     * @param window size of window (milliseconds). If less than 1 then 1.
+     */
+    public Aggregator(long window) {
+        this(window, window);
+    }
+
+    /**
+     * Create sliding window.
+     * @param window size of window (milliseconds). Rounded up to multiple of {@code step}.
+     * @param step move of window (milliseconds). If less than 1 or greater than {@code window} then
+     *             {@code window} (tumbling window).
+     */
+    public Aggregator(long window, long step) {
+        window = Math.max(window, 1);
+        if (step < 1 || step > window) {
+            step = window;
+        }
+        int buckets = (int) ((window + step - 1) / step);
+        this.step = step;
+        this.window = buckets * step;
+        counts = new int[buckets];
+        mins = new double[buckets];
+        maxs = new double[buckets];
+        sums = new double[buckets];
+    }
+
+    /**
+     * Return size of window.
+     * @return milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Return move of window.
+     * @return milliseconds.
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Add sample. Sample older than the current bucket is added to the current bucket.
+     * @param time time of sample ({@link System#currentTimeMillis()}).
+     * @param value value.
+     */
+    public void add(long time, double value) {
+        ArrayList<Window> closed = null;
+        synchronized (this) {
+            long bucket = Math.floorDiv(time, step) * step;
+            if (current == Long.MIN_VALUE) {
+                current = bucket;
+            }
+            while (current < bucket) {
+                if (total > 0) {
+                    Window w = aggregate(current + step);
+                    if (w.count() > 0) {
+                        last = w;
+                        if (closed == null) {
+                            closed = new ArrayList<>();
+                        }
+                        closed.add(w);
+                    }
+                }
+                current += step;
+                head = (head + 1) % counts.length;
+                total -= counts[head];
+                counts[head] = 0;
+                sums[head] = 0;
+                if (total == 0) {
+                    //пустые окна пропускаются
+                    current = bucket;
+                }
+            }
+            if (counts[head] == 0) {
+                mins[head] = value;
+                maxs[head] = value;
+            } else {
+                mins[head] = Math.min(mins[head], value);
+                maxs[head] = Math.max(maxs[head], value);
+            }
+            counts[head]++;
+            sums[head] += value;
+            total++;
+        }
+        if (closed != null) {
+            for (Window w : closed) {
+                onClosed.raise(w);
+            }
+        }
+    }
+
+    /**
+     * Return aggregate of the current (not closed) window.
+     * @return {@link Window}. Null if no samples.
+     */
+    public @Nullable Window current() {
+        synchronized (this) {
+            return current == Long.MIN_VALUE ? null : aggregate(current + step);
+        }
+    }
+
+    /**
+     * Return aggregate of the last closed window with samples.
+     * @return {@link Window}. Null if no window is closed.
+     */
+    public @Nullable Window last() {
+        synchronized (this) {
+            return last;
+        }
+    }
+
+    /**
+     * Remove all samples.
+     */
+    public void reset() {
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = 0;
+                sums[i] = 0;
+            }
+            total = 0;
+            current = Long.MIN_VALUE;
+            last = null;
+        }
+    }
+
+    /**
+     * Aggregate buckets of window ending at {@code end}.
+     */
+    private @NotNull Window aggregate(long end) {
+        int count = 0;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            min = count == 0 ? mins[i] : Math.min(min, mins[i]);
+            max = count == 0 ? maxs[i] : Math.max(max, maxs[i]);
+            count += counts[i];
+            sum += sums[i];
+        }
+        return new Window(end - window, end, count, min, max, sum);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Analog input channel.
+ * <br>Every survey of device adds value of channel by {@code record()}, including values in deadband.
+ */
+public abstract class AnalogIn extends In<Double> {
+
+    private volatile @Nullable ChannelHistory history = null;
+
+    /**
+     * Return history of channel filled by survey.
+     * @return {@link ChannelHistory}. Null if history is off.
+     */
+    public @Nullable ChannelHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Set history of channel filled by survey.
+     * @param v {@link ChannelHistory}. If null then history is off.
+     */
+    public void setHistory(@Nullable ChannelHistory v) {
+        history = v;
+    }
+
+    private volatile @Nullable TimeSeriesEncoder encoder = null;
+
+    /**
+     * Return compressed history of channel filled by survey.
+     * @return {@link TimeSeriesEncoder}. Null if compressed history is off.
+     */
+    public @Nullable TimeSeriesEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Set compressed history of channel filled by survey.
+     * @param v {@link TimeSeriesEncoder}. If null then compressed history is off.
+     */
+    public void setEncoder(@Nullable TimeSeriesEncoder v) {
+        encoder = v;
+    }
+
+    private final CopyOnWriteArrayList<Aggregator> aggregators = new CopyOnWriteArrayList<>();
+
+    /**
+     * Add {@link Aggregator} filled by survey.
+     * @param v {@link Aggregator}.
+     */
+    public void addAggregator(@NotNull Aggregator v) {
+        aggregators.addIfAbsent(v);
+    }
+
+    /**
+     * Remove {@link Aggregator} filled by survey.
+     * @param v {@link Aggregator}.
+     */
+    public void removeAggregator(@NotNull Aggregator v) {
+        aggregators.remove(v);
+    }
+
+    /**
+     * Add value of survey to history, compressed history and aggregators of channel. Called by device.
+     * @param time time of survey ({@link System#currentTimeMillis()}).
+     * @param value value.
+     */
+    public void record(long time, double value) {
+        ChannelHistory history = this.history;
+        if (history != null) {
+            history.add(time, value);
+        }
+        TimeSeriesEncoder encoder = this.encoder;
+        if (encoder != null) {
+            encoder.add(time, value);
+        }
+        for (Aggregator aggregator : aggregators) {
+            aggregator.add(time, value);
+        }
+    }
+}
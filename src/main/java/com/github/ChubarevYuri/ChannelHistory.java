@@ -0,0 +1,140 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * History of analog channel with fixed capacity: the oldest sample is replaced by the new one.
+ * <br>Samples are kept in primitive arrays, adding a sample does not allocate memory.
+ * <br>Times of samples must not decrease.
+ */
+public class ChannelHistory {
+
+    private final long @NotNull [] times;
+    private final double @NotNull [] values;
+
+    /**
+     * Index of the oldest sample.
+     */
+    private int start = 0;
+    private int size = 0;
+
+    /**
+     * @param capacity max count of samples. If less than 1 then 1.
+     */
+    public ChannelHistory(int capacity) {
+        if (capacity < 1) {
+            capacity = 1;
+        }
+        times = new long[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Return max count of samples.
+     * @return count.
+     */
+    public int capacity() {
+        return times.length;
+    }
+
+    /**
+     * Return count of samples.
+     * @return count.
+     */
+    public int size() {
+        synchronized (this) {
+            return size;
+        }
+    }
+
+    /**
+     * Add sample.
+     * @param time time of sample ({@link System#currentTimeMillis()}).
+     * @param value value.
+     */
+    public void add(long time, double value) {
+        synchronized (this) {
+            int index = (start + size) % times.length;
+            times[index] = time;
+            values[index] = value;
+            if (size < times.length) {
+                size++;
+            } else {
+                start = (start + 1) % times.length;
+            }
+        }
+    }
+
+    /**
+     * Remove all samples.
+     */
+    public void clear() {
+        synchronized (this) {
+            start = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Copy the last samples, from old to new.
+     * @param count max count of samples.
+     * @param times times of samples. Length not less than {@code count}.
+     * @param values values of samples. Length not less than {@code count}.
+     * @return count of copied samples.
+     */
+    public int last(int count, long @NotNull [] times, double @NotNull [] values) {
+        synchronized (this) {
+            count = Math.max(Math.min(count, size), 0);
+            copy(size - count, count, times, values);
+            return count;
+        }
+    }
+
+    /**
+     * Copy samples with time in [{@code from}..{@code to}], from old to new.
+     * <br>If arrays are short then the first samples of range are copied.
+     * @param from min time.
+     * @param to max time.
+     * @param times times of samples.
+     * @param values values of samples.
+     * @return count of copied samples.
+     */
+    public int range(long from, long to, long @NotNull [] times, double @NotNull [] values) {
+        synchronized (this) {
+            int first = lowerBound(from);
+            int end = lowerBound(to == Long.MAX_VALUE ? to : to + 1);
+            int count = Math.max(Math.min(end - first, Math.min(times.length, values.length)), 0);
+            copy(first, count, times, values);
+            return count;
+        }
+    }
+
+    /**
+     * Return index (from the oldest) of the first sample with time not less than {@code time}.
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.times[(start + mid) % this.times.length] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param from index from the oldest sample.
+     */
+    private void copy(int from, int count, long @NotNull [] times, double @NotNull [] values) {
+        int index = (start + from) % this.times.length;
+        int head = Math.min(count, this.times.length - index);
+        System.arraycopy(this.times, index, times, 0, head);
+        System.arraycopy(this.values, index, values, 0, head);
+        System.arraycopy(this.times, 0, times, head, count - head);
+        System.arraycopy(this.values, 0, values, head, count - head);
+    }
+}
@@ -6,6 +6,8 @@ import com.github.ChubarevYuri.Checksum.LRC8;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+
 public abstract class Base extends Device {
 
     /**
@@ -231,15 +233,30 @@ public abstract class Base extends Device {
     public @NotNull Rec sendRec(@NotNull Send command, boolean useAddress) throws PortException {
         PortException exception = null;
         synchronized (this) {
-            for (int i = 0; i < MAX_SEND; i++) {
-                try {
-                    return new Rec(getInterfacePropertyDCON().port().writeReadLine(command.toString()), useAddress);
-                } catch (PortException e){
+            boolean probe = breakerProbe();
+            Port.Priority priority = probe ? Port.Priority.RECONNECT : Port.Priority.current();
+            Port.Priority.Scope scope = priority.enter();
+            try {
+                for (int i = 0; i < (probe ? 1 : MAX_SEND); i++) {
                     try {
-                        send(new Send('~', "**", false));
-                    } catch (Exception ignored) {}
-                    exception = e;
+                        Rec rec = new Rec(getInterfacePropertyDCON().port().writeReadLine(command.toString()),
+                                useAddress);
+                        breakerSuccess();
+                        return rec;
+                    } catch (PortException e){
+                        exception = e;
+                        //проба открытого автомата не занимает шину сбросом
+                        if (probe) {
+                            break;
+                        }
+                        try {
+                            send(new Send('~', "**", false));
+                        } catch (Exception ignored) {}
+                    }
                 }
+                breakerFailure(exception);
+            } finally {
+                scope.close();
             }
         }
         if (!(exception instanceof ChkControlException) && !(exception instanceof DeviceInterfaceException)) {
@@ -259,6 +276,20 @@ public abstract class Base extends Device {
         return sendRec(command, true);
     }
 
+    /**
+     * Return {@code frame} is answer with address of device: [!?] [address].
+     * <br>Answer {@code >} has no address and is not matched.
+     * @param frame data received since the last silence.
+     * @return true if frame is sent by this device.
+     */
+    @Override
+    protected boolean isFrameFrom(byte @NotNull [] frame) {
+        if (frame.length < 3 || (frame[0] != '!' && frame[0] != '?')) {
+            return false;
+        }
+        return new String(frame, 1, 2, StandardCharsets.US_ASCII).equalsIgnoreCase(getAddress().toString());
+    }
+
     //endregion
 
     //region Address
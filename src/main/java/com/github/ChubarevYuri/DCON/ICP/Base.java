@@ -85,6 +85,121 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
         }
     }
 
+    //region Configuration
+
+    /**
+     * Configuration of module: answer of {@code $AA2}.
+     * @param nn address.
+     * @param tt type.
+     * @param cc baudrate.
+     * @param ff data format, checksum and specific settings of module.
+     */
+    protected record Configuration(@NotNull UByte nn, @NotNull UByte tt, @NotNull UByte cc, @NotNull UByte ff) {
+        @Override
+        public String toString() {
+            return "%s%s%s%s".formatted(nn, tt, cc, ff);
+        }
+    }
+
+    /**
+     * Configuration read on connect and changed by {@code writeConfiguration()}. Null if not read.
+     * <br>Cleared when address changes: answer of module with the previous address is not cached.
+     */
+    private @Nullable Configuration configuration = null;
+
+    /**
+     * Read configuration of module ({@code $AA2}) and cache it.
+     * @return {@link Configuration}.
+     * @throws PortException {@link Port} connection error, uncorrect answer.
+     */
+    protected @NotNull Configuration readConfiguration() throws PortException {
+        UByte target = getAddress();
+        Send send = new Send('$', "2");
+        Rec rec = sendRec(send, false);
+        if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
+            Configuration result;
+            try {
+                result = new Configuration(UByte.parseUByte(rec.getCommand().substring(0, 2)),
+                        UByte.parseUByte(rec.getCommand().substring(2, 4)),
+                        UByte.parseUByte(rec.getCommand().substring(4, 6)),
+                        UByte.parseUByte(rec.getCommand().substring(6, 8)));
+            } catch (Exception e) {
+                throw new DeviceInterfaceException(send, rec);
+            }
+            synchronized (this) {
+                if (target.equals(address)) {
+                    configuration = result;
+                }
+            }
+            return result;
+        }
+        throw new DeviceInterfaceException(send, rec);
+    }
+
+    /**
+     * Return cached configuration of module. Module is read only if configuration is not cached.
+     * @return {@link Configuration}.
+     * @throws PortException {@link Port} connection error, uncorrect answer.
+     */
+    protected @NotNull Configuration getConfiguration() throws PortException {
+        synchronized (this) {
+            if (configuration != null) {
+                return configuration;
+            }
+        }
+        return readConfiguration();
+    }
+
+    /**
+     * Write configuration of module ({@code %AA}). Accepted configuration replaces the cached one.
+     * @param v {@link Configuration}.
+     * @return true if accepted, false if module answered {@code ?} (invalid configuration).
+     * @throws DeviceInterfaceException uncorrect answer.
+     * @throws PortException {@link Port} connection error.
+     */
+    protected boolean writeConfiguration(@NotNull Configuration v) throws PortException {
+        UByte target = getAddress();
+        Send send = new Send('%', v.toString());
+        Rec rec;
+        try {
+            rec = sendRec(send);
+        } catch (PortException e) {
+            //неизвестно, применил ли модуль настройки
+            synchronized (this) {
+                configuration = null;
+            }
+            throw e;
+        }
+        if (rec.getSeparator() == '!') {
+            synchronized (this) {
+                configuration = target.equals(address) ? v : null;
+            }
+            return true;
+        } else if (rec.getSeparator() == '?') {
+            return false;
+        }
+        synchronized (this) {
+            configuration = null;
+        }
+        throw new DeviceInterfaceException(send, rec);
+    }
+
+    /**
+     * Set address. Cached configuration is cleared: the next setting reads module with new address.
+     * @param v address.
+     */
+    @Override
+    public void setAddress(@NotNull UByte v) throws PortException {
+        synchronized (this) {
+            if (!v.equals(address)) {
+                configuration = null;
+            }
+        }
+        super.setAddress(v);
+    }
+
+    //endregion
+
     //region Name
 
     private String name = "";
@@ -99,12 +214,8 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
      * @return name of device.
      */
     public @NotNull String getName() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getName failed", e);
             throw e;
         }
@@ -155,12 +266,8 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull BaudRate getBaudRate() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getBaudRate failed", e);
             throw e;
         }
@@ -204,33 +311,14 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
             } else {
                 throw new DeviceInterfaceException("invalid baudrate: " + v);
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
-            UByte corr = cc.setBits(0,6, baud);
-            if (corr.equals(cc)) {
+            Configuration configuration = getConfiguration();
+            UByte corr = configuration.cc().setBits(0,6, baud);
+            if (corr.equals(configuration.cc())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, tt, corr, ff));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), configuration.tt(), corr,
+                    configuration.ff()))) {
+                throw new DeviceInterfaceException("invalid baudrate: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "baudRate <- " + v, null);
@@ -259,12 +347,8 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull LRC8 getChecksum() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getChecksum failed", e);
             throw e;
         }
@@ -288,33 +372,14 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
             if (!this.isInit()) {
                 throw new DeviceInterfaceException("need init mode");
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
-            UByte corr = ff.setBit(6, v.toBoolean());
-            if (corr.equals(ff)) {
+            Configuration configuration = getConfiguration();
+            UByte corr = configuration.ff().setBit(6, v.toBoolean());
+            if (corr.equals(configuration.ff())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, tt, cc, corr));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), configuration.tt(), configuration.cc(),
+                    corr))) {
+                throw new DeviceInterfaceException("invalid checksum: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "checksum <- " + v, null);
@@ -365,12 +430,10 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
                             && port.getDataBits().equals(DataBits.EIGHT)
                             && address.equals(new UByte(0))
                     ) || isInit()) {
-                        Send send = new Send('$', "2");
-                        Rec rec = sendRec(send, false);
-                        if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
+                        Configuration configuration = readConfiguration();
+                        {
                             try {
-                                UByte cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                                BaudRate b = switch (cc.getBits(0, 6)) {
+                                BaudRate b = switch (configuration.cc().getBits(0, 6)) {
                                     case 3 -> BaudRate.BPS1200;
                                     case 4 -> BaudRate.BPS2400;
                                     case 5 -> BaudRate.BPS4800;
@@ -385,18 +448,15 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
                                     port.setBaudRate(b);
                                     baudRateValue = b;
                                 }
-                                super.setAddress(UByte.parseUByte(rec.getCommand().substring(0, 2)));
-                                UByte ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                                LRC8 chk = LRC8.parseLRC8(ff.getBit(6));
+                                super.setAddress(configuration.nn());
+                                LRC8 chk = LRC8.parseLRC8(configuration.ff().getBit(6));
                                 if (!chk.equals(checksum)) {
                                     checksum = chk;
                                     chkValue = chk;
                                 }
                             } catch (Exception e) {
-                                throw new DeviceInterfaceException(send, rec);
+                                throw new DeviceInterfaceException("uncorrect configuration: " + configuration);
                             }
-                        } else {
-                            throw new DeviceInterfaceException(send, rec);
                         }
                     }
                 }
@@ -422,6 +482,10 @@ public abstract class Base extends com.github.ChubarevYuri.DCON.Base {
 
     @Override
     protected void disconnect() {
+        synchronized (this) {
+            //после восстановления связи конфигурация читается заново
+            configuration = null;
+        }
         super.disconnect();
         sendLog(Level.WARNING, "disconnected", null);
     }
@@ -10,6 +10,10 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Hashtable;
 import java.util.Map;
 
+/**
+ * Analog input device with 8 channels.
+ * <br>{@link DeviceSnapshot} values are channels 0..7: channels not in inspection are NaN and not valid.
+ */
 public class I7017R extends Base {
 
     /**
@@ -36,12 +40,8 @@ public class I7017R extends Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull AnalogFormat getFormat() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getFormat failed", e);
             throw e;
         }
@@ -62,37 +62,19 @@ public class I7017R extends Base {
             if (!this.isConnected()) {
                 throw new DeviceInterfaceException("device disconnect");
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
-            UByte corr = ff.setBits(0, 2, v.intValue());
-            if (corr.equals(ff)) {
+            Configuration configuration = getConfiguration();
+            UByte corr = configuration.ff().setBits(0, 2, v.intValue());
+            if (corr.equals(configuration.ff())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, tt, cc, corr));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), configuration.tt(), configuration.cc(),
+                    corr))) {
+                throw new DeviceInterfaceException("invalid format: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "format <- " + v, null);
                 format = v;
+                values.invalidate();
             }
         } catch (PortException e) {
             sendLog(Level.WARNING, "setFormat failed", e);
@@ -117,12 +99,8 @@ public class I7017R extends Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull Filter getFilter() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getFilter failed", e);
             throw e;
         }
@@ -143,33 +121,14 @@ public class I7017R extends Base {
             if (!this.isConnected()) {
                 throw new DeviceInterfaceException("device disconnect");
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
-            UByte corr = ff.setBit(7, v.toBoolean());
-            if (corr.equals(ff)) {
+            Configuration configuration = getConfiguration();
+            UByte corr = configuration.ff().setBit(7, v.toBoolean());
+            if (corr.equals(configuration.ff())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, tt, cc, corr));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), configuration.tt(), configuration.cc(),
+                    corr))) {
+                throw new DeviceInterfaceException("invalid filter: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "filter <- " + v, null);
@@ -198,12 +157,8 @@ public class I7017R extends Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull SampleMode getSampleMode() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getSampleMode failed", e);
             throw e;
         }
@@ -224,33 +179,14 @@ public class I7017R extends Base {
             if (!this.isConnected()) {
                 throw new DeviceInterfaceException("device disconnect");
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
-            UByte corr = ff.setBit(5, v.toBoolean());
-            if (corr.equals(ff)) {
+            Configuration configuration = getConfiguration();
+            UByte corr = configuration.ff().setBit(5, v.toBoolean());
+            if (corr.equals(configuration.ff())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, tt, cc, corr));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), configuration.tt(), configuration.cc(),
+                    corr))) {
+                throw new DeviceInterfaceException("invalid sample mode: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "sample mode <- " + v, null);
@@ -279,12 +215,8 @@ public class I7017R extends Base {
      * @throws DeviceInterfaceException device disconnect.
      */
     public @NotNull AnalogType getType() throws DeviceInterfaceException {
-        try {
-            reconnect();
-            if (!this.isConnected()) {
-                throw new DeviceInterfaceException("device disconnect");
-            }
-        } catch (DeviceInterfaceException e) {
+        if (!this.isConnected()) {
+            DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
             sendLog(Level.WARNING, "getType failed", e);
             throw e;
         }
@@ -305,39 +237,19 @@ public class I7017R extends Base {
             if (!this.isConnected()) {
                 throw new DeviceInterfaceException("device disconnect");
             }
-            UByte nn, tt, cc, ff;
-            {
-                Send send = new Send('$', "2");
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
-                    try {
-                        nn = UByte.parseUByte(rec.getCommand().substring(0, 2));
-                        tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
-                        cc = UByte.parseUByte(rec.getCommand().substring(4, 6));
-                        ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                    } catch (Exception e) {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
-                }
-            }
+            Configuration configuration = getConfiguration();
             UByte corr = UByte.parseUByte(v.intValue());
-            if (corr.equals(tt)) {
+            if (corr.equals(configuration.tt())) {
                 return;
             }
-            {
-                Send send = new Send('%', "%s%s%s%s".formatted(nn, corr, cc, ff));
-                Rec rec = sendRec(send);
-                if (rec.getSeparator() == '?') {
-                    throw new DeviceInterfaceException("uncorrect type: " + v);
-                } else if (rec.getSeparator() != '!') {
-                    throw new DeviceInterfaceException(send, rec);
-                }
+            if (!writeConfiguration(new Configuration(configuration.nn(), corr, configuration.cc(),
+                    configuration.ff()))) {
+                throw new DeviceInterfaceException("uncorrect type: " + v);
             }
             synchronized (this) {
                 sendLog(Level.SETTING, "type <- " + v, null);
                 type = v;
+                values.invalidate();
             }
         } catch (PortException e) {
             sendLog(Level.WARNING, "setType failed", e);
@@ -362,12 +274,12 @@ public class I7017R extends Base {
                     SampleMode modeValue = null;
                     AnalogType typeValue = null;
                     synchronized (this) {
-                        Send send = new Send('$', "2");
-                        Rec rec = sendRec(send, false);
-                        if (rec.getSeparator() == '!' && rec.getCommand().length() == 8) {
+                        //прочитана при подключении в Base
+                        Configuration configuration = getConfiguration();
+                        {
                             try {
-                                UByte ff = UByte.parseUByte(rec.getCommand().substring(6, 8));
-                                UByte tt = UByte.parseUByte(rec.getCommand().substring(2, 4));
+                                UByte ff = configuration.ff();
+                                UByte tt = configuration.tt();
                                 AnalogFormat format = AnalogFormat.parseAnalogFormat(ff.getBits(0, 2));
                                 if (!format.equals(this.format)) {
                                     formatValue = format;
@@ -393,10 +305,8 @@ public class I7017R extends Base {
                                     sendLog(Level.SETTING, "type -> " + type, null);
                                 }
                             } catch (Exception e) {
-                                throw new DeviceInterfaceException(send, rec);
+                                throw new DeviceInterfaceException("uncorrect configuration: " + configuration);
                             }
-                        } else {
-                            throw new DeviceInterfaceException(send, rec);
                         }
                     }
                     if (formatValue != null) {
@@ -475,6 +385,22 @@ public class I7017R extends Base {
         }
     }
 
+    /**
+     * Values of all channels read on demand: answer of {@code #AA}.
+     */
+    private final ReadCache<String> values = createReadCache(this::readValues);
+
+    private @NotNull String readValues() throws PortException {
+        Send send = new Send('#', "");
+        Rec rec = sendRec(send, false);
+        synchronized (this) {
+            if ((rec.getSeparator() == '>') && (rec.getCommand().length() == (format.equals(AnalogFormat.Hex) ? 32 : 56))) {
+                return rec.getCommand();
+            }
+        }
+        throw new DeviceInterfaceException(send, rec);
+    }
+
     @Override
     protected void inspection() throws Exception {
         if (!(in0.isInspection() || in1.isInspection() || in2.isInspection() || in3.isInspection()
@@ -487,13 +413,20 @@ public class I7017R extends Base {
             Rec rec = sendRec(send, false);
             if ((rec.getSeparator() == '>') && (rec.getCommand().length() == (format.equals(AnalogFormat.Hex) ? 32 : 56))) {
                 final In[] ins = {in0, in1, in2, in3, in4, in5, in6, in7};
+                double[] values = new double[8];
+                long quality = 0;
+                long time = System.currentTimeMillis();
                 for (int i = 0; i < 8; i++) {
+                    values[i] = Double.NaN;
                     if (ins[i].isInspection()) {
                         try {
                             int beginIndex = i * (format.equals(AnalogFormat.Hex) ? 4 : 7);
                             int endIndex = beginIndex + (format.equals(AnalogFormat.Hex) ? 4 : 7);
                             double result = type.convert(rec.getCommand().substring(beginIndex, endIndex), format);
-                            if (result != ins[i].value) {
+                            values[i] = result;
+                            quality |= 1L << i;
+                            ins[i].record(time, result);
+                            if (ins[i].deadband.isExceeded(ins[i].value, result, type.max() - type.min())) {
                                 ins[i].sendLog(Level.INFO, "-> " + result, null);
                                 ins[i].value = result;
                                 changes.put(ins[i], result);
@@ -501,6 +434,7 @@ public class I7017R extends Base {
                         } catch (Exception ignored) {}
                     }
                 }
+                publish(values, 0, quality);
             } else {
                 throw new DeviceInterfaceException(send, rec);
             }
@@ -510,11 +444,16 @@ public class I7017R extends Base {
         }
     }
 
-    public class In extends com.github.ChubarevYuri.In<Double> implements InspectedControl {
+    public class In extends AnalogIn implements InspectedControl {
 
         private final int id;
         private double value = 0.0;
 
+        /**
+         * Change of value less than deadband (span is range of {@link AnalogType}) is not accepted.
+         */
+        public final Deadband deadband = new Deadband();
+
         private In(int id) {
             this.id = id;
         }
@@ -527,25 +466,27 @@ public class I7017R extends Base {
         public @NotNull Double get() throws PortException {
             double result;
             synchronized (I7017R.this) {
-                if (isCyclicSurvey() && isConnected() && isInspection()) {
+                if (isSurveyEnabled() && isConnected() && isInspection()) {
                     return value;
                 }
-                Send send = new Send('#', "%d".formatted(id));
-                Rec rec = sendRec(send, false);
-                if (rec.getSeparator() == '>') {
-                    if (rec.getCommand().charAt(0) != ' ') {
-                        result = type.convert(rec.getCommand(), format);
-                        if (result == value) {
-                            return value;
-                        }
-                        sendLog(Level.INFO, "<- " + result, null);
-                        value = result;
-                    } else {
-                        throw new DeviceInterfaceException("channel not in inspection");
-                    }
-                } else {
-                    throw new DeviceInterfaceException(send, rec);
+                if (!inspect) {
+                    throw new DeviceInterfaceException("channel not in inspection");
+                }
+            }
+            String command = values.get();
+            synchronized (I7017R.this) {
+                int beginIndex = id * (format.equals(AnalogFormat.Hex) ? 4 : 7);
+                int endIndex = beginIndex + (format.equals(AnalogFormat.Hex) ? 4 : 7);
+                //формат мог измениться после чтения
+                if (command.length() < endIndex) {
+                    throw new DeviceInterfaceException("format changed");
                 }
+                result = type.convert(command.substring(beginIndex, endIndex), format);
+                if (!deadband.isExceeded(value, result, type.max() - type.min())) {
+                    return value;
+                }
+                sendLog(Level.INFO, "<- " + result, null);
+                value = result;
             }
             onChanged.raise(result);
             return result;
@@ -555,12 +496,8 @@ public class I7017R extends Base {
 
         @Override
         public boolean isInspection() throws DeviceInterfaceException {
-            try {
-                reconnect();
-                if (!I7017R.this.isConnected()) {
-                    throw new DeviceInterfaceException("device disconnect");
-                }
-            } catch (PortException e) {
+            if (!I7017R.this.isConnected()) {
+                DeviceInterfaceException e = new DeviceInterfaceException("device disconnect");
                 sendLog(Level.WARNING, "isInspection failed", e);
                 throw e;
             }
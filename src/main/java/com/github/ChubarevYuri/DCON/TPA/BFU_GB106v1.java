@@ -6,6 +6,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 
+/**
+ * Device with one analog output.
+ * <br>{@link DeviceSnapshot} value 0 is output value.
+ */
 public class BFU_GB106v1 extends Base {
 
     /**
@@ -34,6 +38,7 @@ public class BFU_GB106v1 extends Base {
                 Rec rec = sendRec(send, false);
                 if (rec.getSeparator() == '>' && rec.getCommand().length() == 4) {
                     int a = Integer.parseInt(rec.getCommand());
+                    publish(new double[] {a}, 0, 1);
                     if (out.value == a) {
                         return;
                     }
@@ -87,7 +92,7 @@ public class BFU_GB106v1 extends Base {
             int result;
             synchronized (BFU_GB106v1.this) {
                 try {
-                    if (isCyclicSurvey() && isConnected()) {
+                    if (isSurveyEnabled() && isConnected()) {
                         return value;
                     }
                     Send send = new Send('$', "G");
@@ -113,31 +118,36 @@ public class BFU_GB106v1 extends Base {
 
         @Override
         public void set(@NotNull Integer v) throws PortException {
-            synchronized (BFU_GB106v1.this) {
-                try {
-                    if (v < 100) {
-                        v = 0;
-                    }
-                    if (v > 1200) {
-                        v = 1200;
-                    }
-                    if (value == v) {
-                        return;
-                    }
-                    Send send = new Send('$', "A%04d".formatted(v));
-                    Rec rec = sendRec(send);
-                    if (rec.getSeparator() == '!' && rec.getCommand().equals("00")) {
-                        value = v;
-                        sendLog(Level.INFO, "<- " + v, null);
-                    } else if (rec.getSeparator() == '!' && rec.getCommand().equals("01")) {
-                        throw new DeviceInterfaceException("synchronized error");
-                    } else {
-                        throw new DeviceInterfaceException(send, rec);
+            Port.Priority.Scope scope = Port.Priority.CONTROL.enter();
+            try {
+                synchronized (BFU_GB106v1.this) {
+                    try {
+                        if (v < 100) {
+                            v = 0;
+                        }
+                        if (v > 1200) {
+                            v = 1200;
+                        }
+                        if (value == v) {
+                            return;
+                        }
+                        Send send = new Send('$', "A%04d".formatted(v));
+                        Rec rec = sendRec(send);
+                        if (rec.getSeparator() == '!' && rec.getCommand().equals("00")) {
+                            value = v;
+                            sendLog(Level.INFO, "<- " + v, null);
+                        } else if (rec.getSeparator() == '!' && rec.getCommand().equals("01")) {
+                            throw new DeviceInterfaceException("synchronized error");
+                        } else {
+                            throw new DeviceInterfaceException(send, rec);
+                        }
+                    } catch (Exception e) {
+                        sendLog(Level.WARNING, "set failed", e);
+                        throw e;
                     }
-                } catch (Exception e) {
-                    sendLog(Level.WARNING, "set failed", e);
-                    throw e;
                 }
+            } finally {
+                scope.close();
             }
             onChanged.raise(v);
         }
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 
 /**
  * Discrete input-output device.
+ * <br>{@link DeviceSnapshot} bits: 0..7 are outputs, 8..15 are inputs.
  */
 public class KS8 extends Base {
 
@@ -52,6 +53,20 @@ public class KS8 extends Base {
         }
     }
 
+    /**
+     * States of outputs (bits 0..7) and inputs (bits 8..15) read on demand.
+     */
+    private final ReadCache<Integer> cache = createReadCache(this::readStates);
+
+    private @NotNull Integer readStates() throws PortException {
+        Send send = new Send('@');
+        Rec rec = sendRec(send, false);
+        if (rec.getSeparator() == '>' && rec.getCommand().length() == 4) {
+            return Integer.parseInt(rec.getCommand(), 16);
+        }
+        throw new DeviceInterfaceException(send, rec);
+    }
+
     @Override
     protected void inspection() throws Exception {
         boolean [] states = new boolean[16];
@@ -65,6 +80,7 @@ public class KS8 extends Base {
             Rec rec = sendRec(send, false);
             if (rec.getSeparator() == '>' && rec.getCommand().length() == 4) {
                 int a = Integer.parseInt(rec.getCommand(), 16);
+                publish(new double[0], a, 0xFFFF);
                 for (int i = 0; i < states.length; i++) {
                     states[i] = a % 2 == 1;
                     a /= 2;
@@ -117,30 +133,22 @@ public class KS8 extends Base {
         public @NotNull Boolean get() throws PortException {
             boolean result;
             synchronized (KS8.this) {
-                if (isCyclicSurvey() && isConnected()) {
+                if (isSurveyEnabled() && isConnected()) {
                     return state;
                 }
-                try {
-                    Send send = new Send('@');
-                    Rec rec = sendRec(send, false);
-                    if (rec.getSeparator() == '>' && rec.getCommand().length() == 4) {
-                        int a = Integer.parseInt(rec.getCommand(), 16);
-                        for (int i = 0; i < id; i++) {
-                            a /= 2;
-                        }
-                        result = a % 2 == 1;
-                        if (result == state) {
-                            return state;
-                        }
-                        state = result;
-                        sendLog(Level.INFO, "-> " + (state ? "ON" : "OFF"), null);
-                    } else {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } catch (Exception e) {
-                    sendLog(Level.WARNING, "read failed", e);
-                    throw e;
+            }
+            try {
+                result = (cache.get() >> id & 1) == 1;
+            } catch (Exception e) {
+                sendLog(Level.WARNING, "read failed", e);
+                throw e;
+            }
+            synchronized (KS8.this) {
+                if (result == state) {
+                    return state;
                 }
+                state = result;
+                sendLog(Level.INFO, "-> " + (state ? "ON" : "OFF"), null);
             }
             onChanged.raise(result);
             return result;
@@ -165,30 +173,22 @@ public class KS8 extends Base {
         public @NotNull Boolean get() throws PortException {
             boolean result;
             synchronized (KS8.this) {
-                if (isCyclicSurvey() && isConnected()) {
+                if (isSurveyEnabled() && isConnected()) {
                     return state;
                 }
-                try {
-                    Send send = new Send('@');
-                    Rec rec = sendRec(send, false);
-                    if (rec.getSeparator() == '>' && rec.getCommand().length() == 4) {
-                        int a = Integer.parseInt(rec.getCommand(), 16);
-                        for (int i = 0; i < id; i++) {
-                            a /= 2;
-                        }
-                        result = a % 2 == 1;
-                        if (result == state) {
-                            return state;
-                        }
-                        state = result;
-                        sendLog(Level.INFO, "-> " + (state ? "ON" : "OFF"), null);
-                    } else {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } catch (Exception e) {
-                    sendLog(Level.WARNING, "read failed", e);
-                    throw e;
+            }
+            try {
+                result = (cache.get() >> id & 1) == 1;
+            } catch (Exception e) {
+                sendLog(Level.WARNING, "read failed", e);
+                throw e;
+            }
+            synchronized (KS8.this) {
+                if (result == state) {
+                    return state;
                 }
+                state = result;
+                sendLog(Level.INFO, "-> " + (state ? "ON" : "OFF"), null);
             }
             onChanged.raise(result);
             return result;
@@ -196,23 +196,29 @@ public class KS8 extends Base {
 
         @Override
         public void set(@NotNull Boolean v) throws PortException {
-            synchronized (KS8.this) {
-                if (state == v) {
-                    return;
-                }
-                try {
-                    Send send = new Send('#', "A%01X0%s".formatted(id, v ? "1" : "0"));
-                    Rec rec = sendRec(send, false);
-                    if (rec.getSeparator() == '>' && rec.getCommand().isEmpty()) {
-                        state = v;
-                        sendLog(Level.INFO, "<- " + (state ? "ON" : "OFF"), null);
-                    } else {
-                        throw new DeviceInterfaceException(send, rec);
+            Port.Priority.Scope scope = Port.Priority.CONTROL.enter();
+            try {
+                synchronized (KS8.this) {
+                    if (state == v) {
+                        return;
+                    }
+                    try {
+                        Send send = new Send('#', "A%01X0%s".formatted(id, v ? "1" : "0"));
+                        Rec rec = sendRec(send, false);
+                        if (rec.getSeparator() == '>' && rec.getCommand().isEmpty()) {
+                            cache.invalidate();
+                            state = v;
+                            sendLog(Level.INFO, "<- " + (state ? "ON" : "OFF"), null);
+                        } else {
+                            throw new DeviceInterfaceException(send, rec);
+                        }
+                    } catch (Exception e) {
+                        sendLog(Level.WARNING, "set failed", e);
+                        throw e;
                     }
-                } catch (Exception e) {
-                    sendLog(Level.WARNING, "set failed", e);
-                    throw e;
                 }
+            } finally {
+                scope.close();
             }
             onChanged.raise(v);
         }
@@ -0,0 +1,80 @@
+package com.github.ChubarevYuri;
+
+/**
+ * Deadband of analog input: change of value is accepted only when it is greater than deadband.
+ * <br>Deadband is {@code max(absolute, percent * span / 100)}, where span is range of input.
+ * <br>Value is compared with the last accepted value, not with the previous measure, so the band works as
+ * hysteresis: noise around a value is not accepted, a slow drift is accepted when it leaves the band.
+ * <br>Zero deadband (by default) accepts any change.
+ */
+public class Deadband {
+
+    private double absolute = 0.0;
+    private double percent = 0.0;
+
+    /**
+     * Return absolute deadband.
+     * @return deadband in units of input.
+     */
+    public double getAbsolute() {
+        synchronized (this) {
+            return absolute;
+        }
+    }
+
+    /**
+     * Set absolute deadband.
+     * @param v deadband in units of input. If less than zero then 0.
+     */
+    public void setAbsolute(double v) {
+        synchronized (this) {
+            absolute = v > 0 ? v : 0.0;
+        }
+    }
+
+    /**
+     * Return deadband in percent of span.
+     * @return percent of span.
+     */
+    public double getPercent() {
+        synchronized (this) {
+            return percent;
+        }
+    }
+
+    /**
+     * Set deadband in percent of span.
+     * @param v percent of span. If less than zero then 0.
+     */
+    public void setPercent(double v) {
+        synchronized (this) {
+            percent = v > 0 ? v : 0.0;
+        }
+    }
+
+    /**
+     * Return deadband for input with {@code span}.
+     * @param span range of input (max - min).
+     * @return deadband in units of input.
+     */
+    public double band(double span) {
+        synchronized (this) {
+            return Math.max(absolute, percent * Math.abs(span) / 100);
+        }
+    }
+
+    /**
+     * Return {@code value} leaves deadband around {@code accepted}.
+     * @param accepted the last accepted value.
+     * @param value new value.
+     * @param span range of input (max - min).
+     * @return true if {@code value} must be accepted.
+     */
+    public boolean isExceeded(double accepted, double value, double span) {
+        double band = band(span);
+        if (band == 0) {
+            return value != accepted;
+        }
+        return Math.abs(value - accepted) > band;
+    }
+}
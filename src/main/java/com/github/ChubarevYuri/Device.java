@@ -1,11 +1,16 @@
 package com.github.ChubarevYuri;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Base class for interacting with devices.
+ * <br>{@code close()} stops survey and auto reconnect of device and releases its {@link Port}.
  */
-public abstract class Device {
+public abstract class Device implements AutoCloseable {
 
     /**
      * Maximum attempts to send a message.
@@ -17,49 +22,172 @@ public abstract class Device {
      */
     protected final @NotNull Port port;
 
+    /**
+     * Min delay (nanoseconds) between surveys of device.
+     */
+    private static final long SURVEY_DELAY = 1_000_000L;
+
+    /**
+     * Delay (nanoseconds) of the next check while survey is off or device is disconnected.
+     */
+    private static final long IDLE_DELAY = 100_000_000L;
+
+    /**
+     * Task of cyclic survey in {@link PollScheduler} of {@code port}.
+     */
+    private final PollScheduler.@NotNull Task surveyTask;
+
+    /**
+     * Task of auto reconnect in {@link PollScheduler} of {@code port}.
+     */
+    private final PollScheduler.@NotNull Task reconnectTask;
+
+    /**
+     * ID of listener of {@code port.onPassiveReceive}.
+     */
+    private final int passiveListener;
+
     /**
      * @param port {@link Port} for connection with device.
      */
     public Device(@NotNull Port port) {
         this.port = port.clone();
 
-        Thread cyclicSurvey = new Thread(() -> {
-            while (true) {
-                try {
-                    Thread.sleep(0, 1);
-                } catch (InterruptedException ignored) {}
-                try {
-                    if (isCyclicSurvey() && isConnected()) {
-                        //события циклического опроса
-                        inspection();
-                        onInspected.raise(this);
-                    }
-                } catch (Exception ignored) {}
+        PollScheduler scheduler = this.port.getPollScheduler();
+        surveyTask = scheduler.schedule(this::survey, IDLE_DELAY, Port.Priority.POLL);
+        reconnectTask = scheduler.schedule(this::autoReconnect, IDLE_DELAY, Port.Priority.RECONNECT);
+        //асинхронно: поток приёма не должен ждать блокировку устройства
+        passiveListener = this.port.onPassiveReceive.addAsync(this::passiveReceive);
+    }
+
+    /**
+     * Stop survey and auto reconnect and dispose {@link Port} of device.
+     * <br>Connection is closed when all its {@link Port} are disposed and devices are closed.
+     */
+    @Override
+    public void close() {
+        surveyTask.cancel();
+        reconnectTask.cancel();
+        port.onPassiveReceive.remove(passiveListener);
+        port.dispose();
+    }
 
+    /**
+     * Return device is closed.
+     * @return true if {@code close()} was called.
+     */
+    public boolean isClosed() {
+        return port.isDisposed();
+    }
+
+    /**
+     * Cyclic survey task.
+     * @return delay (nanoseconds) before the next survey.
+     */
+    private long survey() {
+        if (!isSurveyEnabled() || !isConnected()) {
+            synchronized (this) {
+                surveyStart = 0;
+            }
+            return IDLE_DELAY;
+        }
+        long start = System.nanoTime();
+        long period;
+        long interval;
+        long deadline;
+        synchronized (this) {
+            period = surveyStart == 0 ? 0 : start - surveyStart;
+            surveyStart = start;
+            if (period > 0) {
+                surveyPeriod = period;
             }
-        });
-        cyclicSurvey.setDaemon(true);
-        cyclicSurvey.start();
-
-        Thread autoReconnect = new Thread(() -> {
-            long timer = System.currentTimeMillis();
-            while (true) {
-                try {
-                    Thread.sleep(0, 1);
-                } catch (InterruptedException ignored) {}
-                try {
-                    if (isConnected()) {
-                        timer = System.currentTimeMillis();
-                    } else if (getAutoReconnectTimeout() > 0 &&
-                            System.currentTimeMillis() - getAutoReconnectTimeout() * 1000L > timer) {
-                        timer = System.currentTimeMillis();
-                        reconnect();
-                    }
-                } catch (Exception ignored) {}
+            interval = surveyInterval * 1_000_000L;
+            deadline = surveyDeadline * 1_000_000L;
+        }
+        if (deadline > 0 && period > deadline) {
+            onSurveyDeadlineMissed.raise(period / 1_000_000L);
+        }
+        try {
+            //события циклического опроса
+            inspection();
+            onInspected.raise(this);
+        } catch (Exception ignored) {
+            //значения прошлого опроса остаются, но помечаются недостоверными
+            synchronized (this) {
+                if (snapshot != DeviceSnapshot.EMPTY) {
+                    snapshot = snapshot.stale(System.currentTimeMillis(), snapshot.getSequence() + 1);
+                }
             }
-        });
-        autoReconnect.setDaemon(true);
-        autoReconnect.start();
+        }
+        //начало следующего опроса отсчитывается от начала текущего, без накопления задержки
+        long delay = start + interval - System.nanoTime();
+        return Math.max(delay, SURVEY_DELAY);
+    }
+
+    /**
+     * Auto reconnect task: attempts are repeated with exponential backoff from {@code getAutoReconnectTimeout()}
+     * to {@code getAutoReconnectMaxTimeout()}.
+     * <br>While auto reconnect is on, session of {@code port} is kept open, so frames of the device are received
+     * outside transactions.
+     * @return delay (nanoseconds) before the next check.
+     */
+    private long autoReconnect() {
+        long base;
+        long max;
+        synchronized (this) {
+            base = autoReconnectTimeout * 1_000_000_000L;
+            max = Math.max(autoReconnectMaxTimeout * 1_000_000_000L, base);
+        }
+        if (base == 0) {
+            return IDLE_DELAY * 10;
+        }
+        //кадры вне транзакций принимаются только при открытом соединении
+        if (!port.isOpen()) {
+            try {
+                port.open();
+            } catch (Exception ignored) {}
+        }
+        if (isConnected()) {
+            synchronized (this) {
+                reconnectDelay = 0;
+            }
+            return base;
+        }
+        boolean connected = false;
+        try {
+            connected = reconnect();
+        } catch (Exception ignored) {}
+        long delay;
+        synchronized (this) {
+            reconnectDelay = connected ? 0 : reconnectDelay == 0 ? base : Math.min(reconnectDelay * 2, max);
+            delay = connected ? base : reconnectDelay;
+        }
+        //случайное отклонение ±20%, чтобы попытки разных устройств не совпадали
+        return delay + (long) (delay * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+    }
+
+    /**
+     * Return {@code frame} received outside transactions is sent by this device.
+     * <br>Frame of disconnected device starts reconnect at once. Frames are received while auto reconnect is on
+     * (session of {@link Port} is opened by auto reconnect task).
+     * @param frame data received since the last silence.
+     * @return true if frame is sent by this device.
+     */
+    protected boolean isFrameFrom(byte @NotNull [] frame) {
+        return false;
+    }
+
+    /**
+     * Listener of {@link Port#onPassiveReceive}.
+     * @param frame data received since the last silence.
+     */
+    private void passiveReceive(byte @NotNull [] frame) {
+        if (getAutoReconnectTimeout() > 0 && !isConnected() && isFrameFrom(frame)) {
+            synchronized (this) {
+                reconnectDelay = 0;
+            }
+            reconnectTask.reschedule(0);
+        }
     }
 
     /**
@@ -67,24 +195,247 @@ public abstract class Device {
      */
     public final Event<Device> onInspected = new Event<>();
 
+    //region Snapshot
+
+    private volatile @NotNull DeviceSnapshot snapshot = DeviceSnapshot.EMPTY;
+
+    /**
+     * Return values of all channels from the last survey. Does not lock device.
+     * <br>Failed survey keeps values of the previous one with zero quality.
+     * @return {@link DeviceSnapshot}. {@code DeviceSnapshot.EMPTY} if device was not surveyed.
+     */
+    public @NotNull DeviceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publish values of survey. Called by {@code inspection()}.
+     * @param values analog values. Array must not be changed after call.
+     * @param bits discrete values.
+     * @param quality bit {@code i} is set if channel {@code i} is read.
+     */
+    protected void publish(double @NotNull [] values, long bits, long quality) {
+        DeviceSnapshot snapshot;
+        Historian historian;
+        int channel;
+        synchronized (this) {
+            snapshot = new DeviceSnapshot(System.currentTimeMillis(), this.snapshot.getSequence() + 1, values, bits,
+                    quality);
+            this.snapshot = snapshot;
+            historian = this.historian;
+            channel = historianChannel;
+        }
+        if (historian == null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < Long.SIZE; i++) {
+                if (snapshot.isValid(i)) {
+                    historian.append(channel + i, snapshot.getTime(),
+                            i < snapshot.size() ? snapshot.getValue(i) : snapshot.getBit(i) ? 1 : 0);
+                }
+            }
+        } catch (IOException e) {
+            LOG.send(Historian.LOG_LABEL, Level.WARNING, "append failed (%s)".formatted(e.getMessage()));
+        }
+    }
+
+    private @Nullable Historian historian = null;
+    private int historianChannel = 0;
+
+    /**
+     * Set {@link Historian} filled by survey of device.
+     * <br>Channel {@code i} of {@link DeviceSnapshot} is written as channel {@code channel + i}: analog value for
+     * {@code i < size()}, else discrete value (0 or 1). Only valid channels are written.
+     * @param historian {@link Historian}. If null then values are not written.
+     * @param channel ID of channel 0 of device.
+     */
+    public void setHistorian(@Nullable Historian historian, int channel) {
+        synchronized (this) {
+            this.historian = historian;
+            historianChannel = channel;
+        }
+    }
+
+    /**
+     * Return {@link Historian} filled by survey of device.
+     * @return {@link Historian}. Null if values are not written.
+     */
+    public @Nullable Historian getHistorian() {
+        synchronized (this) {
+            return historian;
+        }
+    }
+
+    //endregion
+
     //region CyclicSurvey
 
-    private static boolean cyclicSurvey = true;
+    private static volatile boolean cyclicSurvey = true;
 
     /**
-     * @return work Cyclic Survey Thread or not.
+     * @return work cyclic survey of all devices or not.
      */
     public static boolean isCyclicSurvey() {
         return cyclicSurvey;
     }
 
     /**
-     * @param v work Cyclic Survey Thread or not.
+     * @param v work cyclic survey of all devices or not.
      */
     public static void setCyclicSurvey(boolean v) {
         cyclicSurvey = v;
     }
 
+    private boolean survey = true;
+    private int surveyInterval = 0;
+    private int surveyDeadline = 0;
+
+    /**
+     * Time ({@link System#nanoTime()}) of start of the last survey. 0 if survey is stopped.
+     */
+    private long surveyStart = 0;
+
+    /**
+     * Time (nanoseconds) between starts of the last two surveys.
+     */
+    private long surveyPeriod = 0;
+
+    /**
+     * Event occurs when time between surveys (milliseconds) exceeds {@code getSurveyDeadline()}.
+     */
+    public final Event<Long> onSurveyDeadlineMissed = new Event<>();
+
+    /**
+     * Return cyclic survey of device works: survey of all devices ({@code isCyclicSurvey()}) and of this device
+     * are on. Values are read from device only when survey does not work.
+     * @return work cyclic survey of device or not.
+     */
+    public boolean isSurveyEnabled() {
+        synchronized (this) {
+            return cyclicSurvey && survey;
+        }
+    }
+
+    /**
+     * Set cyclic survey of device.
+     * @param v work cyclic survey of device or not.
+     */
+    public void setSurveyEnabled(boolean v) {
+        synchronized (this) {
+            survey = v;
+        }
+        if (v) {
+            surveyTask.reschedule(0);
+        }
+    }
+
+    /**
+     * Return target time between starts of surveys of device.
+     * <br>If 0 then survey is repeated as soon as possible.
+     * @return milliseconds.
+     */
+    public int getSurveyInterval() {
+        synchronized (this) {
+            return surveyInterval;
+        }
+    }
+
+    /**
+     * Set target time between starts of surveys of device.
+     * <br>If {@code v} less or zero then survey is repeated as soon as possible.
+     * @param v milliseconds.
+     */
+    public void setSurveyInterval(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        long delay;
+        synchronized (this) {
+            surveyInterval = v;
+            delay = surveyStart == 0 ? 0 : surveyStart + v * 1_000_000L - System.nanoTime();
+        }
+        surveyTask.reschedule(delay);
+    }
+
+    /**
+     * Return max time between starts of surveys of device. When it is exceeded {@code onSurveyDeadlineMissed}
+     * occurs.
+     * <br>If 0 then time is not controlled.
+     * @return milliseconds.
+     */
+    public int getSurveyDeadline() {
+        synchronized (this) {
+            return surveyDeadline;
+        }
+    }
+
+    /**
+     * Set max time between starts of surveys of device. When it is exceeded {@code onSurveyDeadlineMissed}
+     * occurs.
+     * <br>If {@code v} less or zero then time is not controlled.
+     * @param v milliseconds.
+     */
+    public void setSurveyDeadline(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        synchronized (this) {
+            surveyDeadline = v;
+        }
+    }
+
+    /**
+     * Return time between starts of the last two surveys of device.
+     * @return milliseconds. 0 if survey was not repeated.
+     */
+    public double getSurveyPeriod() {
+        synchronized (this) {
+            return surveyPeriod / 1_000_000.0;
+        }
+    }
+
+    //endregion
+
+    //region Read cache
+
+    private int readCacheMaxAge = 50;
+
+    /**
+     * Return max age of answer reused by reads on demand (when survey does not work).
+     * <br>Reads of all channels of device during this time are executed by one transaction.
+     * @return milliseconds.
+     */
+    public int getReadCacheMaxAge() {
+        synchronized (this) {
+            return readCacheMaxAge;
+        }
+    }
+
+    /**
+     * Set max age of answer reused by reads on demand (when survey does not work).
+     * <br>If {@code v} less or zero then only concurrent reads share one transaction.
+     * @param v milliseconds.
+     */
+    public void setReadCacheMaxAge(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        synchronized (this) {
+            readCacheMaxAge = v;
+        }
+    }
+
+    /**
+     * Create {@link ReadCache} with max age of device.
+     * @param reader read of device.
+     * @return {@link ReadCache}.
+     * @param <T> format of answer.
+     */
+    protected <T> @NotNull ReadCache<T> createReadCache(@NotNull ReadCache.Reader<T> reader) {
+        return new ReadCache<>(reader, this::getReadCacheMaxAge);
+    }
+
     //endregion
 
     //region Connection
@@ -138,6 +489,12 @@ public abstract class Device {
     //region Auto reconnect timeout
 
     private int autoReconnectTimeout = 0;
+    private int autoReconnectMaxTimeout = 60;
+
+    /**
+     * Current delay (nanoseconds) between reconnect attempts. 0 if there was no failed attempt.
+     */
+    private long reconnectDelay = 0;
 
     /**
      * Event occurs when changed auto reconnect timeout.
@@ -170,9 +527,190 @@ public abstract class Device {
             }
             autoReconnectTimeout = v;
         }
+        reconnectTask.reschedule(v * 1_000_000_000L);
         onAutoReconnectTimeoutChanged.raise(v);
     }
 
+    /**
+     * Return max delay between attempts to restore communication with the device. After each failed attempt
+     * delay is doubled from {@code getAutoReconnectTimeout()} to this value.
+     * @return seconds.
+     */
+    public int getAutoReconnectMaxTimeout() {
+        synchronized (this) {
+            return autoReconnectMaxTimeout;
+        }
+    }
+
+    /**
+     * Set max delay between attempts to restore communication with the device. After each failed attempt
+     * delay is doubled from {@code getAutoReconnectTimeout()} to this value.
+     * <br>If {@code v} less than {@code getAutoReconnectTimeout()} then delay is not increased.
+     * @param v seconds.
+     */
+    public void setAutoReconnectMaxTimeout(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        synchronized (this) {
+            autoReconnectMaxTimeout = v;
+        }
+    }
+
+    //endregion
+
+    //region Circuit breaker
+
+    /**
+     * Breaker is off by default: device is retried as without breaker.
+     */
+    private int breakerThreshold = 0;
+    private int breakerProbeInterval = 5000;
+
+    /**
+     * Count of consecutive {@code sendRec()} without answer after all attempts.
+     */
+    private int failures = 0;
+
+    private boolean breakerOpen = false;
+
+    /**
+     * Time ({@link System#nanoTime()}) of the next probe of open breaker.
+     */
+    private long probeTime = 0;
+
+    /**
+     * Event occurs when breaker is opened (true) or closed (false).
+     */
+    public final Event<Boolean> onBreakerChanged = new Event<>();
+
+    /**
+     * Return breaker is open: device did not answer {@code getBreakerThreshold()} {@code sendRec()} in a row,
+     * each after all its attempts.
+     * <br>While breaker is open transactions fail at once without sending, except one probe transaction
+     * in {@code getBreakerProbeInterval()}.
+     * @return true if breaker is open.
+     */
+    public boolean isBreakerOpen() {
+        synchronized (this) {
+            return breakerOpen;
+        }
+    }
+
+    /**
+     * Return count of consecutive {@code sendRec()} without answer after all attempts to open breaker.
+     * <br>If 0 then breaker is off (default).
+     * @return count of transactions.
+     */
+    public int getBreakerThreshold() {
+        synchronized (this) {
+            return breakerThreshold;
+        }
+    }
+
+    /**
+     * Set count of consecutive {@code sendRec()} without answer after all attempts to open breaker.
+     * <br>If {@code v} less or zero then breaker is off.
+     * @param v count of transactions.
+     */
+    public void setBreakerThreshold(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        synchronized (this) {
+            breakerThreshold = v;
+        }
+        if (v == 0) {
+            breakerSuccess();
+        }
+    }
+
+    /**
+     * Return interval between probe transactions of open breaker.
+     * @return milliseconds.
+     */
+    public int getBreakerProbeInterval() {
+        synchronized (this) {
+            return breakerProbeInterval;
+        }
+    }
+
+    /**
+     * Set interval between probe transactions of open breaker.
+     * @param v milliseconds.
+     */
+    public void setBreakerProbeInterval(int v) {
+        if (v < 0) {
+            v = 0;
+        }
+        synchronized (this) {
+            breakerProbeInterval = v;
+        }
+    }
+
+    /**
+     * Check breaker before transaction.
+     * <br>Probe transaction is sent once with {@link Port.Priority#RECONNECT}.
+     * @return true if transaction is probe of open breaker.
+     * @throws PortException breaker is open and time of probe is not reached.
+     */
+    protected boolean breakerProbe() throws PortException {
+        synchronized (this) {
+            if (!breakerOpen) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (now - probeTime < 0) {
+                throw new PortException("%s %s not answered (breaker is open)".formatted(
+                        getClass().getSimpleName(), port.getName()));
+            }
+            //следующие транзакции ждут окончания пробы
+            probeTime = now + breakerProbeInterval * 1_000_000L;
+            return true;
+        }
+    }
+
+    /**
+     * Register answer of device: breaker is closed.
+     */
+    protected void breakerSuccess() {
+        synchronized (this) {
+            failures = 0;
+            if (!breakerOpen) {
+                return;
+            }
+            breakerOpen = false;
+        }
+        onBreakerChanged.raise(false);
+    }
+
+    /**
+     * Register failed {@code sendRec()}. Called once after all attempts, not for every attempt.
+     * <br>Answer with error ({@link DeviceInterfaceException},
+     * {@link com.github.ChubarevYuri.Checksum.ChkControlException}) is answer of device.
+     * @param e error of the last attempt.
+     */
+    protected void breakerFailure(@NotNull PortException e) {
+        if (e instanceof DeviceInterfaceException ||
+                e instanceof com.github.ChubarevYuri.Checksum.ChkControlException) {
+            breakerSuccess();
+            return;
+        }
+        synchronized (this) {
+            //выключенный автомат не копит отказы
+            if (breakerThreshold == 0) {
+                return;
+            }
+            failures++;
+            if (breakerOpen || failures < breakerThreshold) {
+                return;
+            }
+            breakerOpen = true;
+            probeTime = System.nanoTime() + breakerProbeInterval * 1_000_000L;
+        }
+        onBreakerChanged.raise(true);
+    }
+
     //endregion
 
     /**
@@ -0,0 +1,134 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable values of all channels of device from one survey.
+ * <br>Analog channels are {@code double} values, discrete channels are bits of {@code long}. Order of channels is
+ * described by device.
+ * <br>Returned by {@link Device#getSnapshot()}.
+ */
+public final class DeviceSnapshot {
+
+    /**
+     * Snapshot of device which was not surveyed.
+     */
+    public static final DeviceSnapshot EMPTY = new DeviceSnapshot(0, 0, new double[0], 0, 0);
+
+    private final long time;
+    private final long sequence;
+    private final double @NotNull [] values;
+    private final long bits;
+    private final long quality;
+
+    /**
+     * @param time time of survey ({@link System#currentTimeMillis()}).
+     * @param sequence number of snapshot.
+     * @param values analog values. Not copied.
+     * @param bits discrete values.
+     * @param quality bit {@code i} is set if channel {@code i} is read.
+     */
+    DeviceSnapshot(long time, long sequence, double @NotNull [] values, long bits, long quality) {
+        this.time = time;
+        this.sequence = sequence;
+        this.values = values;
+        this.bits = bits;
+        this.quality = quality;
+    }
+
+    /**
+     * Return time of survey.
+     * @return milliseconds ({@link System#currentTimeMillis()}).
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Return number of snapshot: increased by every survey of device.
+     * @return number. 0 if device was not surveyed.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Return count of analog values.
+     * @return count.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Return analog value.
+     * @param index index of channel.
+     * @return value.
+     * @throws IndexOutOfBoundsException {@code index} out of [0..size()).
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Copy analog values to {@code dst}.
+     * @param dst array with length not less than {@code size()}.
+     * @return {@code dst}.
+     */
+    public double @NotNull [] getValues(double @NotNull [] dst) {
+        System.arraycopy(values, 0, dst, 0, values.length);
+        return dst;
+    }
+
+    /**
+     * Return discrete values.
+     * @return bit {@code i} is value of channel {@code i}.
+     */
+    public long getBits() {
+        return bits;
+    }
+
+    /**
+     * Return discrete value.
+     * @param index index of channel. Correct values: [0..63].
+     * @return value.
+     */
+    public boolean getBit(int index) {
+        return (bits >>> index & 1) == 1;
+    }
+
+    /**
+     * Return quality flags.
+     * @return bit {@code i} is set if channel {@code i} is read by the survey.
+     */
+    public long getQuality() {
+        return quality;
+    }
+
+    /**
+     * Return channel is read by the survey.
+     * @param index index of channel. Correct values: [0..63].
+     * @return true if value of channel is actual.
+     */
+    public boolean isValid(int index) {
+        return (quality >>> index & 1) == 1;
+    }
+
+    /**
+     * Return the same values marked as not read.
+     * @param time time of failed survey ({@link System#currentTimeMillis()}).
+     * @param sequence number of snapshot.
+     * @return {@code DeviceSnapshot} with zero quality.
+     */
+    @NotNull DeviceSnapshot stale(long time, long sequence) {
+        return new DeviceSnapshot(time, sequence, values, bits, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceSnapshot{sequence=%d, time=%d, values=%s, bits=%X, quality=%X}".formatted(sequence, time,
+                Arrays.toString(values), bits, quality);
+    }
+}
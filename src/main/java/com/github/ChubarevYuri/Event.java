@@ -1,10 +1,27 @@
 package com.github.ChubarevYuri;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Event with sync and async raise.
+ * <br>Listeners are kept in immutable arrays replaced on add and remove, so {@code raise()} does not lock.
+ * Async listeners are executed by the executor shared by all events, never in the raising thread: when
+ * the queue of executor is full the async call is dropped and counted ({@code getDroppedCount()}).
+ * Calls of conflated and batched listeners are not dropped but delayed, their parameters are kept.
+ * <br>For frequent events listener can receive only the latest parameter ({@code addConflated()}) or all
+ * parameters in one call ({@code addBatched()}) at most once per interval.
  * @param <T> format.
  */
 public class Event<T> {
@@ -21,8 +38,93 @@ public class Event<T> {
         void onRaise(T e);
     }
 
-    private final Map<Integer, Event.Listener<T>> listeners = new HashMap<>();
-    private final Map<Integer, Event.Listener<T>> asyncListeners = new HashMap<>();
+    /**
+     * {@code Listener} with its ID.
+     */
+    private record Entry<T>(int id, Event.Listener<T> listener) { }
+
+    /**
+     * Count of threads executing async listeners.
+     */
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Max count of async calls waiting for a thread. When the queue is full the call is dropped.
+     */
+    private static final int QUEUE = 4096;
+
+    /**
+     * Delay (nanoseconds) of the next attempt of conflated or batched call when the queue is full.
+     */
+    private static final long RETRY_DELAY = 10_000_000L;
+
+    private static final Executor asyncExecutor = createExecutor();
+
+    /**
+     * Count of async calls dropped because the queue was full.
+     */
+    private static final LongAdder dropped = new LongAdder();
+
+    /**
+     * Timer of conflated and batched listeners.
+     */
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Event timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private volatile Entry<T>[] listeners = new Entry[0];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private volatile Entry<T>[] asyncListeners = new Entry[0];
+
+    private static Executor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE), createThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Execute async call. Call is not executed in the current thread if the queue is full: it would stop survey.
+     * @return false if the queue is full.
+     */
+    private static boolean execute(Runnable task) {
+        try {
+            asyncExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return count of async calls dropped because the executor of async listeners was overloaded.
+     * @return count since start of application.
+     */
+    public static long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Virtual threads if Java supports them, else daemon threads.
+     */
+    private static ThreadFactory createThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "Event ", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            //виртуальные потоки недоступны
+        }
+        return r -> {
+            Thread thread = new Thread(r, "Event");
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
     /**
      * Add {@code Listener} for raise in called Thread.
@@ -30,11 +132,12 @@ public class Event<T> {
      * @return ID.
      */
     public int add(Event.Listener<T> listener) {
-        int key = System.identityHashCode(listener);
-        synchronized (listeners) {
-            if (!listeners.containsKey(key)) {
-                listeners.put(key, listener);
-            }
+        return add(System.identityHashCode(listener), listener);
+    }
+
+    private int add(int key, Event.Listener<T> listener) {
+        synchronized (this) {
+            listeners = added(listeners, key, listener);
             return key;
         }
     }
@@ -46,22 +149,70 @@ public class Event<T> {
      */
     public int addAsync(Event.Listener<T> listener) {
         int key = System.identityHashCode(listener);
-        synchronized (listeners) {
-            if (!asyncListeners.containsKey(key)) {
-                asyncListeners.put(key, listener);
-            }
+        synchronized (this) {
+            asyncListeners = added(asyncListeners, key, listener);
             return key;
         }
     }
 
+    /**
+     * Add {@code Listener} for async raise with the latest parameter only, at most once per {@code interval}.
+     * <br>Parameters raised between calls are dropped.
+     * @param listener method.
+     * @param interval min time (milliseconds) between calls of {@code listener}.
+     * @return ID.
+     */
+    public int addConflated(Event.Listener<T> listener, long interval) {
+        return add(System.identityHashCode(listener), new Coalescer<T, T>(listener, interval) {
+            private T latest;
+
+            @Override
+            void put(T e) {
+                latest = e;
+            }
+
+            @Override
+            T take() {
+                T e = latest;
+                latest = null;
+                return e;
+            }
+        });
+    }
+
+    /**
+     * Add {@code Listener} for async raise with all parameters raised since the previous call, at most once per
+     * {@code interval}.
+     * @param listener method. Parameter is unmodifiable list in order of raise.
+     * @param interval min time (milliseconds) between calls of {@code listener}.
+     * @return ID.
+     */
+    public int addBatched(Event.Listener<List<T>> listener, long interval) {
+        return add(System.identityHashCode(listener), new Coalescer<T, List<T>>(listener, interval) {
+            private ArrayList<T> batch = new ArrayList<>();
+
+            @Override
+            void put(T e) {
+                batch.add(e);
+            }
+
+            @Override
+            List<T> take() {
+                List<T> e = Collections.unmodifiableList(batch);
+                batch = new ArrayList<>();
+                return e;
+            }
+        });
+    }
+
     /**
      * Remove {@code Listener}.
      * @param id ID (received when added method).
      */
     public void remove(int id) {
-        synchronized (listeners) {
-            listeners.remove(id);
-            asyncListeners.remove(id);
+        synchronized (this) {
+            listeners = removed(listeners, id);
+            asyncListeners = removed(asyncListeners, id);
         }
     }
 
@@ -78,19 +229,121 @@ public class Event<T> {
      * @param e parameter.
      */
     public void raise(T e) {
-        synchronized (listeners) {
-            for (Event.Listener<T> listener : asyncListeners.values()) {
-                Thread th = new Thread(() -> {
-                    try {
-                        listener.onRaise(e);
-                    } catch (Exception ignored) { }
-                });
-                th.setDaemon(true);
-                th.start();
+        for (Entry<T> entry : asyncListeners) {
+            Event.Listener<T> listener = entry.listener();
+            boolean executed = execute(() -> {
+                try {
+                    listener.onRaise(e);
+                } catch (Exception ignored) { }
+            });
+            if (!executed) {
+                dropped.increment();
+            }
+        }
+        for (Entry<T> entry : listeners) {
+            entry.listener().onRaise(e);
+        }
+    }
+
+    /**
+     * Listener collecting parameters and calling {@code listener} by timer.
+     * @param <T> format.
+     * @param <S> format of {@code listener}.
+     */
+    private abstract static class Coalescer<T, S> implements Event.Listener<T> {
+        private final Event.Listener<S> listener;
+
+        /**
+         * Min time (nanoseconds) between calls.
+         */
+        private final long interval;
+
+        /**
+         * Start time of the last call.
+         */
+        private long last;
+
+        /**
+         * Parameters are collected and call is scheduled.
+         */
+        private boolean pending = false;
+
+        Coalescer(Event.Listener<S> listener, long interval) {
+            this.listener = listener;
+            this.interval = Math.max(interval, 0) * 1_000_000L;
+            last = System.nanoTime() - this.interval;
+        }
+
+        /**
+         * Collect parameter. Called under lock.
+         * @param e parameter.
+         */
+        abstract void put(T e);
+
+        /**
+         * Return collected parameters and reset them. Called under lock.
+         * @return parameter of {@code listener}.
+         */
+        abstract S take();
+
+        @Override
+        public void onRaise(T e) {
+            long delay;
+            synchronized (this) {
+                put(e);
+                if (pending) {
+                    return;
+                }
+                pending = true;
+                delay = Math.max(last + interval - System.nanoTime(), 0);
             }
-            for (Event.Listener<T> listener : listeners.values()) {
+            schedule(delay);
+        }
+
+        /**
+         * Schedule call. If the queue of executor is full call is delayed: parameters stay collected.
+         * @param delay nanoseconds.
+         */
+        private void schedule(long delay) {
+            timer.schedule(() -> {
+                if (!execute(this::call)) {
+                    schedule(Math.max(interval, RETRY_DELAY));
+                }
+            }, delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void call() {
+            S e;
+            synchronized (this) {
+                pending = false;
+                last = System.nanoTime();
+                e = take();
+            }
+            try {
                 listener.onRaise(e);
+            } catch (Exception ignored) { }
+        }
+    }
+
+    private static <T> Entry<T>[] added(Entry<T>[] entries, int id, Event.Listener<T> listener) {
+        for (Entry<T> entry : entries) {
+            if (entry.id() == id) {
+                return entries;
+            }
+        }
+        Entry<T>[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = new Entry<>(id, listener);
+        return result;
+    }
+
+    private static <T> Entry<T>[] removed(Entry<T>[] entries, int id) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i].id() == id) {
+                Entry<T>[] result = Arrays.copyOf(entries, entries.length - 1);
+                System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                return result;
             }
         }
+        return entries;
     }
 }
@@ -0,0 +1,31 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link FrameDecoder} of frame of a certain length.
+ */
+public class FixedLengthDecoder implements FrameDecoder {
+
+    private final int length;
+
+    /**
+     * @param length frame length.
+     */
+    public FixedLengthDecoder(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Return frame length.
+     * @return frame length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public int decode(byte @NotNull [] frame, int from, int to) {
+        return to >= length ? length : NEED_MORE;
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decoder of frame boundary: {@link Port} consults it on every received chunk and ends the transaction when the
+ * frame is complete, without waiting for silence.
+ */
+public interface FrameDecoder {
+
+    /**
+     * Frame is not complete.
+     */
+    int NEED_MORE = -1;
+
+    /**
+     * Frame length can not be decoded: frame ends with silence.
+     */
+    int UNTIL_SILENCE = -2;
+
+    /**
+     * Decode received data.
+     * @param frame received data of frame from index 0.
+     * @param from index of first byte received in this chunk.
+     * @param to count of received bytes.
+     * @return length of complete frame (≤ {@code to}), {@code NEED_MORE} or {@code UNTIL_SILENCE}.
+     */
+    int decode(byte @NotNull [] frame, int from, int to);
+
+    /**
+     * Reset decoder state before a new frame.
+     */
+    default void reset() { }
+}
@@ -0,0 +1,115 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Character timing of serial line (nanoseconds, for {@link System#nanoTime()}).
+ * <br>Silence of 1.5 characters ({@code t1.5}) inside frame and of 3.5 characters ({@code t3.5}) between frames
+ * as in Modbus RTU. Above 19200 bps fixed values 750 µs and 1750 µs are used.
+ */
+public final class FrameTiming {
+
+    /**
+     * Max baud rate (bps) with timeouts calculated from character time.
+     */
+    private static final int FIXED_BAUD_RATE = 19200;
+
+    private static final long FIXED_T15 = 750_000L;
+    private static final long FIXED_T35 = 1_750_000L;
+
+    private final int bits;
+    private final long character;
+    private final long t15;
+    private final long t35;
+
+    /**
+     * @param baudRate {@link BaudRate}.
+     * @param dataBits {@link DataBits}.
+     * @param stopBits {@link StopBits}.
+     * @param parity {@link Parity}.
+     */
+    public FrameTiming(@NotNull BaudRate baudRate,
+                       @NotNull DataBits dataBits,
+                       @NotNull StopBits stopBits,
+                       @NotNull Parity parity) {
+        //длительность символа в половинах бита: старт + данные + чётность + стоп
+        int halfBits = 2 + dataBits.intValue() * 2 + (parity.equals(Parity.NONE) ? 0 : 2) +
+                (stopBits.equals(StopBits.ONE_POINT_FIVE) ? 3 : stopBits.intValue() * 2);
+        int bps = baudRate.intValue();
+        bits = (halfBits + 1) / 2;
+        character = halfBits * 500_000_000L / bps;
+        if (bps > FIXED_BAUD_RATE) {
+            t15 = FIXED_T15;
+            t35 = FIXED_T35;
+        } else {
+            t15 = halfBits * 750_000_000L / bps;
+            t35 = halfBits * 1_750_000_000L / bps;
+        }
+    }
+
+    /**
+     * Return count of bits in character (start, data, parity and stop bits; 1.5 stop bits rounded up).
+     * @return count of bits.
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * Return time of one character transmission.
+     * @return nanoseconds.
+     */
+    public long getCharacterNanos() {
+        return character;
+    }
+
+    /**
+     * Return max silence between characters of frame ({@code t1.5}).
+     * @return nanoseconds.
+     */
+    public long getT15Nanos() {
+        return t15;
+    }
+
+    /**
+     * Return min silence between frames ({@code t3.5}).
+     * @return nanoseconds.
+     */
+    public long getT35Nanos() {
+        return t35;
+    }
+
+    /**
+     * Return time of transmission.
+     * @param length count of characters.
+     * @return nanoseconds.
+     */
+    public long transmitNanos(int length) {
+        return character * length;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj instanceof FrameTiming) {
+            return character == ((FrameTiming) obj).character && t35 == ((FrameTiming) obj).t35;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(character * 31 + t35);
+    }
+
+    /**
+     * Returns a {@code String} representation of a {@code FrameTiming}.
+     * @return {@code String} formatted "character/t1.5/t3.5" in microseconds.
+     */
+    @Override
+    public @NotNull String toString() {
+        return "%d/%d/%d µs".formatted(character / 1000, t15 / 1000, t35 / 1000);
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * On-disk history of channel values in memory-mapped segment files.
+ * <br>Record is {@code RECORD} bytes: channel (int), time (long), value (double). Records are appended to the
+ * current segment; full segment is replaced by a new one and the oldest segments above retention are deleted.
+ * <br>{@code scan()} reads segments through memory mapping without copying them to the heap.
+ * <br>In {@link com.github.ChubarevYuri.LOG} use label "historian"
+ */
+public class Historian implements AutoCloseable {
+
+    public static final String LOG_LABEL = "historian";
+
+    /**
+     * Size of record (bytes).
+     */
+    public static final int RECORD = 20;
+
+    /**
+     * Header of segment: magic, count of records, min time, max time.
+     */
+    private static final int HEADER = 24;
+    private static final int MAGIC = 0x48495354;
+    private static final String SUFFIX = ".hist";
+
+    /**
+     * Visitor of records of {@code scan()}.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Executed for every found record.
+         * @param channel channel ID.
+         * @param time time of value.
+         * @param value value.
+         */
+        void accept(int channel, long time, double value);
+    }
+
+    private final @NotNull Path directory;
+    private final int segmentRecords;
+    private final int retention;
+
+    /**
+     * Number of the current segment.
+     */
+    private long number;
+    private @Nullable MappedByteBuffer segment = null;
+    private int count = 0;
+    private boolean closed = false;
+
+    /**
+     * Open historian. Records of existing segments in {@code directory} are kept.
+     * @param directory directory of segment files.
+     * @param segmentRecords count of records in segment. If less than 1 then 1.
+     * @param retention max count of segments. If less than 1 then 1.
+     * @throws IOException directory cannot be created or read.
+     */
+    public Historian(@NotNull Path directory, int segmentRecords, int retention) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = Math.max(segmentRecords, 1);
+        this.retention = Math.max(retention, 1);
+        Files.createDirectories(directory);
+        ArrayList<Long> numbers = segments();
+        //новые записи пишутся в новый сегмент: незаполненный сегмент прошлого запуска не дописывается
+        number = numbers.isEmpty() ? 0 : numbers.get(numbers.size() - 1) + 1;
+    }
+
+    /**
+     * Append record.
+     * @param channel channel ID.
+     * @param time time of value.
+     * @param value value.
+     * @throws IOException segment cannot be created. Historian is closed.
+     */
+    public void append(int channel, long time, double value) throws IOException {
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("historian closed");
+            }
+            if (segment == null || count == segmentRecords) {
+                rollover();
+            }
+            MappedByteBuffer s = segment;
+            int position = HEADER + count * RECORD;
+            s.putInt(position, channel);
+            s.putLong(position + 4, time);
+            s.putDouble(position + 12, value);
+            if (count == 0 || time < s.getLong(8)) {
+                s.putLong(8, time);
+            }
+            if (count == 0 || time > s.getLong(16)) {
+                s.putLong(16, time);
+            }
+            count++;
+            s.putInt(4, count);
+        }
+    }
+
+    /**
+     * Find records with time in [{@code from}..{@code to}] in order of append.
+     * @param from min time.
+     * @param to max time.
+     * @param visitor executed for every found record.
+     * @throws IOException segment cannot be read.
+     */
+    public void scan(long from, long to, @NotNull Visitor visitor) throws IOException {
+        for (long n : segments()) {
+            MappedByteBuffer s;
+            int records;
+            synchronized (this) {
+                s = n == number - 1 ? segment : null;
+                //текущий сегмент дописывается параллельно: читаются записи, добавленные до этого момента
+                records = count;
+            }
+            if (s == null) {
+                try (FileChannel channel = FileChannel.open(file(n), StandardOpenOption.READ)) {
+                    if (channel.size() < HEADER) {
+                        continue;
+                    }
+                    s = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } catch (NoSuchFileException e) {
+                    //сегмент удалён по сроку хранения
+                    continue;
+                }
+                if (s.getInt(0) != MAGIC) {
+                    continue;
+                }
+                records = Math.min(s.getInt(4), (s.capacity() - HEADER) / RECORD);
+            }
+            if (records == 0 || s.getLong(16) < from || s.getLong(8) > to) {
+                continue;
+            }
+            for (int i = 0; i < records; i++) {
+                int position = HEADER + i * RECORD;
+                long time = s.getLong(position + 4);
+                if (time >= from && time <= to) {
+                    visitor.accept(s.getInt(position), time, s.getDouble(position + 12));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the current segment to disk and stop appending.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (segment != null) {
+                segment.force();
+            }
+            segment = null;
+            closed = true;
+        }
+    }
+
+    /**
+     * Start new segment and delete the oldest segments above retention.
+     */
+    private void rollover() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        segment = null;
+        long size = HEADER + (long) segmentRecords * RECORD;
+        Path path = file(number);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer s = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            s.putInt(0, MAGIC);
+            s.putInt(4, 0);
+            segment = s;
+        }
+        number++;
+        count = 0;
+        ArrayList<Long> numbers = segments();
+        for (int i = 0; i < numbers.size() - retention; i++) {
+            try {
+                Files.deleteIfExists(file(numbers.get(i)));
+            } catch (IOException e) {
+                LOG.send(LOG_LABEL, Level.WARNING, "delete %s failed (%s)".formatted(file(numbers.get(i)),
+                        e.getMessage()));
+            }
+        }
+    }
+
+    private @NotNull Path file(long number) {
+        return directory.resolve("%016d%s".formatted(number, SUFFIX));
+    }
+
+    /**
+     * Return numbers of segment files in ascending order.
+     */
+    private @NotNull ArrayList<Long> segments() throws IOException {
+        ArrayList<Long> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -2,10 +2,23 @@ package com.github.ChubarevYuri;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.Flow;
+
 public abstract class In<T> {
 
     public final Event<T> onChanged = new Event<>();
 
     public abstract @NotNull T get() throws PortException;
 
+    /**
+     * Return {@link Flow.Publisher} of changes of value ({@code onChanged}) with bounded buffer of every
+     * subscriber.
+     * @param capacity size of buffer of subscriber. If less than 1 then 1.
+     * @param overflow action when buffer of subscriber is full.
+     * @return {@link SamplePublisher}.
+     */
+    public @NotNull SamplePublisher<T> publisher(int capacity, @NotNull SamplePublisher.Overflow overflow) {
+        return new SamplePublisher<>(onChanged, capacity, overflow);
+    }
+
 }
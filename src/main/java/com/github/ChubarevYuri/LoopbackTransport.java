@@ -0,0 +1,216 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-memory {@link Transport} without hardware: data written to one end is received by the other end.
+ * <br>Create ends with {@code pair()}. Connect {@link Port} to one end and device simulator to other end.
+ * <br>With pacing each byte is received after the time of its transmission at parameters of the sending end,
+ * without pacing data is received at once.
+ * <br>Receive thread of the end works while the end is opened. Data sent to the closed end is lost.
+ */
+public class LoopbackTransport implements Transport {
+
+    private final @NotNull String name;
+    private LoopbackTransport peer;
+
+    private volatile @Nullable Listener listener = null;
+    private volatile boolean opened = false;
+    private volatile boolean pacing = true;
+
+    /**
+     * Time (nanoseconds) of one byte transmission at parameters of this end.
+     */
+    private volatile long byteNanos =
+            new FrameTiming(BaudRate.BPS9600, DataBits.EIGHT, StopBits.ONE, Parity.NONE).getCharacterNanos();
+
+    /**
+     * Sent data.
+     * @param purge value of {@code purges} of receiving end when data is sent.
+     */
+    private record Chunk(byte @NotNull [] data, long time, long byteNanos, long purge) { }
+
+    /**
+     * Data sent to this end.
+     */
+    private final LinkedBlockingQueue<Chunk> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Receive thread. Null if the end is closed.
+     */
+    private volatile @Nullable Thread receiver = null;
+
+    /**
+     * Count of {@code purge()}: data being received before purge is dropped.
+     */
+    private volatile long purges = 0;
+
+    private LoopbackTransport(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Create connected ends.
+     * @param name name of first end.
+     * @param peerName name of second end.
+     * @return array of two connected ends.
+     */
+    public static @NotNull LoopbackTransport @NotNull [] pair(@NotNull String name, @NotNull String peerName) {
+        LoopbackTransport a = new LoopbackTransport(name);
+        LoopbackTransport b = new LoopbackTransport(peerName);
+        a.peer = b;
+        b.peer = a;
+        return new LoopbackTransport[] {a, b};
+    }
+
+    /**
+     * Return other end.
+     * @return other end.
+     */
+    public @NotNull LoopbackTransport getPeer() {
+        return peer;
+    }
+
+    /**
+     * Return received data is delayed by the time of transmission.
+     * @return true if pacing is on.
+     */
+    public boolean isPacing() {
+        return pacing;
+    }
+
+    /**
+     * Set received data is delayed by the time of transmission.
+     * @param v true if pacing is on.
+     */
+    public void setPacing(boolean v) {
+        pacing = v;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isOpened() {
+        return opened;
+    }
+
+    @Override
+    public void open() {
+        synchronized (this) {
+            if (opened) {
+                return;
+            }
+            Thread thread = new Thread(this::receive, "LoopbackTransport " + name);
+            thread.setDaemon(true);
+            receiver = thread;
+            opened = true;
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (!opened) {
+                return;
+            }
+            opened = false;
+            thread = receiver;
+            receiver = null;
+        }
+        queue.clear();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void setParams(@NotNull BaudRate baudRate,
+                          @NotNull DataBits dataBits,
+                          @NotNull StopBits stopBits,
+                          @NotNull Parity parity,
+                          @NotNull FlowControl flowControl) {
+        byteNanos = new FrameTiming(baudRate, dataBits, stopBits, parity).getCharacterNanos();
+    }
+
+    @Override
+    public void write(byte @NotNull [] data, int offset, int length) throws PortException {
+        if (!opened) {
+            throw new PortException("Port %s write failed".formatted(name));
+        }
+        //закрытый конец не принимает данные
+        if (length > 0 && peer.opened) {
+            peer.queue.add(new Chunk(Arrays.copyOfRange(data, offset, offset + length), System.nanoTime(), byteNanos,
+                    peer.purges));
+        }
+    }
+
+    @Override
+    public void purge() {
+        purges++;
+        queue.clear();
+    }
+
+    @Override
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    private void deliver(byte @NotNull [] data, int offset, int length) {
+        Listener l = listener;
+        if (opened && receiver == Thread.currentThread() && l != null) {
+            try {
+                l.onReceive(data, offset, length);
+            } catch (Exception ignored) {}
+        }
+    }
+
+    /**
+     * Receive thread: passes sent data to {@code Listener} when it is transmitted. Stopped by {@code close()}.
+     */
+    private void receive() {
+        Thread current = Thread.currentThread();
+        //время окончания передачи последнего байта
+        long last = System.nanoTime();
+        while (receiver == current) {
+            Chunk chunk;
+            try {
+                chunk = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (chunk.purge() != purges) {
+                continue;
+            }
+            byte[] data = chunk.data();
+            if (!pacing) {
+                deliver(data, 0, data.length);
+                continue;
+            }
+            long due = Math.max(last, chunk.time()) + chunk.byteNanos();
+            int i = 0;
+            while (i < data.length && receiver == current && chunk.purge() == purges) {
+                long now = System.nanoTime();
+                if (due - now > 0) {
+                    LockSupport.parkNanos(due - now);
+                    now = System.nanoTime();
+                }
+                //все байты, передача которых закончилась
+                int n = (int) Math.min(data.length - i, 1 + Math.max(0, (now - due) / chunk.byteNanos()));
+                deliver(data, i, n);
+                i += n;
+                last = due + (n - 1) * chunk.byteNanos();
+                due = last + chunk.byteNanos();
+            }
+        }
+    }
+}
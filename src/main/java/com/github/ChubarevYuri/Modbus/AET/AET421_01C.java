@@ -11,6 +11,8 @@ import java.util.Map;
 
 /**
  * Multifunction measuring transducer.
+ * <br>{@link DeviceSnapshot} values are in order of registers: Ua, Ub, Uc, Uo, Ia, Ib, Ic, Io, Uab, Ubc, Uca, Pa,
+ * Pb, Pc, P, Qa, Qb, Qc, Q, Sa, Sb, Sc, S, Qfa, Qfb, Qfc, F, Uph.av, Iav, Uav.
  */
 public class AET421_01C extends Base {
 
@@ -47,6 +49,20 @@ public class AET421_01C extends Base {
         }
     }
 
+    /**
+     * Registers of all channels read on demand.
+     */
+    private final ReadCache<byte[]> registers = createReadCache(this::readRegisters);
+
+    private byte @NotNull [] readRegisters() throws PortException {
+        Send send = new Send(new UByte(4), (short)0, (short)0x26);
+        Rec rec = sendRec(send);
+        if (rec.getFunction().equals(new UByte(4))) {
+            return UByte.convertToByte(rec.getData());
+        }
+        throw new DeviceInterfaceException(send, rec);
+    }
+
     @Override
     protected void inspection() throws Exception {
         final In[] ins = {
@@ -64,6 +80,9 @@ public class AET421_01C extends Base {
                 Send send = new Send(new UByte(4), (short)0, (short)0x26);
                 Rec rec = sendRec(send);
                 if (rec.getFunction().equals(new UByte(4))) {
+                    double[] values = new double[ins.length];
+                    int index = 0;
+                    long time = System.currentTimeMillis();
                     for (In in : ins) {
                         int s = ByteBuffer.wrap(UByte.convertToByte(rec.getData()), in.id * 2, 2)
                                 .asShortBuffer().get();
@@ -71,12 +90,15 @@ public class AET421_01C extends Base {
                             s += 65536;
                         }
                         double result = s / in.k1 * in.k2;
-                        if (result != in.value) {
+                        values[index++] = result;
+                        in.record(time, result);
+                        if (in.deadband.isExceeded(in.value, result, in.k2)) {
                             in.sendLog(Level.INFO, "-> " + result, null);
                             in.value = result;
                             changes.put(in, result);
                         }
                     }
+                    publish(values, 0, (1L << ins.length) - 1);
                 } else {
                     throw new DeviceInterfaceException(send, rec);
                 }
@@ -93,12 +115,17 @@ public class AET421_01C extends Base {
     /**
      * Input channel.
      */
-    public class In extends com.github.ChubarevYuri.In<Double> {
+    public class In extends AnalogIn {
         private final int id;
         private final String name;
         private double value = 0.0;
         private final double k2;
 
+        /**
+         * Change of value less than deadband (span is multiplier) is not accepted.
+         */
+        public final Deadband deadband = new Deadband();
+
         /**
          * @param id address.
          * @param name channel name from logging.
@@ -120,31 +147,26 @@ public class AET421_01C extends Base {
         public @NotNull Double get() throws PortException {
             double result;
             synchronized (AET421_01C.this) {
-                if (isCyclicSurvey() && isConnected()) {
+                if (isSurveyEnabled() && isConnected()) {
                     return value;
                 }
-                try {
-                    Send send = new Send(new UByte(4), (short)id, (short)0x01);
-                    Rec rec = sendRec(send);
-                    if (rec.getFunction().equals(new UByte(4))) {
-                        int s = ByteBuffer.wrap( UByte.convertToByte(rec.getData()), 0,2)
-                                .asShortBuffer().get();
-                        if (s < 0) {
-                            s += 65536;
-                        }
-                        result = s / getK1() * k2;
-                        if (result == value) {
-                            return value;
-                        }
-                        sendLog(Level.INFO, "<- " + result, null);
-                        value = result;
-                    } else {
-                        throw new DeviceInterfaceException(send, rec);
-                    }
-                } catch (Exception e) {
-                    sendLog(Level.WARNING, "read failed", e);
-                    throw e;
+            }
+            try {
+                int s = ByteBuffer.wrap(registers.get(), id * 2, 2).asShortBuffer().get();
+                if (s < 0) {
+                    s += 65536;
+                }
+                result = s / getK1() * k2;
+            } catch (Exception e) {
+                sendLog(Level.WARNING, "read failed", e);
+                throw e;
+            }
+            synchronized (AET421_01C.this) {
+                if (!deadband.isExceeded(value, result, k2)) {
+                    return value;
                 }
+                sendLog(Level.INFO, "<- " + result, null);
+                value = result;
             }
             onChanged.raise(result);
             return result;
@@ -19,6 +19,11 @@ public abstract class Base extends Device {
      */
     protected static final CRC16 CHK = CRC16.ENABLE;
 
+    /**
+     * Decoder of answer: transaction ends when the last byte of answer is received.
+     */
+    protected static final FrameDecoder FRAME = RtuFrameDecoder.INSTANCE;
+
     public Base(@NotNull Port port, @NotNull UByte address) {
         super(port);
         synchronized (this) {
@@ -181,15 +186,28 @@ public abstract class Base extends Device {
     public @NotNull Rec sendRec(@NotNull Send command) throws PortException {
         PortException exception = null;
         synchronized (this) {
-            for (int i = 0; i < MAX_SEND; i++) {
-                try {
-                    return new Rec(port.writeRead(command.toBytesArray()));
-                } catch (PortException e){
+            boolean probe = breakerProbe();
+            Port.Priority priority = probe ? Port.Priority.RECONNECT : Port.Priority.current();
+            Port.Priority.Scope scope = priority.enter();
+            try {
+                for (int i = 0; i < (probe ? 1 : MAX_SEND); i++) {
                     try {
-                        Thread.sleep(10);
-                    } catch (Exception ignored) {}
-                    exception = e;
+                        Rec rec = new Rec(port.writeRead(command.toBytesArray(), FRAME));
+                        breakerSuccess();
+                        return rec;
+                    } catch (PortException e){
+                        exception = e;
+                        if (probe) {
+                            break;
+                        }
+                        try {
+                            Thread.sleep(10);
+                        } catch (Exception ignored) {}
+                    }
                 }
+                breakerFailure(exception);
+            } finally {
+                scope.close();
             }
         }
         if (!(exception instanceof ChkControlException) && !(exception instanceof DeviceInterfaceException)) {
@@ -198,6 +216,16 @@ public abstract class Base extends Device {
         throw exception;
     }
 
+    /**
+     * Return {@code frame} is answer with address of device: [address] [function].
+     * @param frame data received since the last silence.
+     * @return true if frame is sent by this device.
+     */
+    @Override
+    protected boolean isFrameFrom(byte @NotNull [] frame) {
+        return frame.length >= 2 && frame[0] == getAddress().byteValue();
+    }
+
     //endregion
 
     //region Address
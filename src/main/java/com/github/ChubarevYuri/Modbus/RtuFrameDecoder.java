@@ -0,0 +1,53 @@
+package com.github.ChubarevYuri.Modbus;
+
+import com.github.ChubarevYuri.FrameDecoder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link FrameDecoder} of Modbus RTU answer: length is taken from function code and byte count.
+ * <br>Format: [address] [function] [data] [CRC16]. Exception answer: [address] [function | 0x80] [code] [CRC16].
+ * <br>Answer of unknown function ends with silence.
+ */
+public class RtuFrameDecoder implements FrameDecoder {
+
+    /**
+     * Decoder has no state: one instance for all devices.
+     */
+    public static final RtuFrameDecoder INSTANCE = new RtuFrameDecoder();
+
+    @Override
+    public int decode(byte @NotNull [] frame, int from, int to) {
+        if (to < 2) {
+            return NEED_MORE;
+        }
+        int length = length(frame, to);
+        if (length < 0) {
+            return length;
+        }
+        return to >= length ? length : NEED_MORE;
+    }
+
+    /**
+     * Return answer length.
+     * @param frame received data.
+     * @param to count of received bytes (≥ 2).
+     * @return answer length, {@code NEED_MORE} if byte count not received or {@code UNTIL_SILENCE}.
+     */
+    private static int length(byte @NotNull [] frame, int to) {
+        int function = frame[1] & 0xFF;
+        if ((function & 0x80) != 0) {
+            return 5;
+        }
+        return switch (function) {
+            //[address] [function] [byte count] [data] [CRC16]
+            case 0x01, 0x02, 0x03, 0x04, 0x0C, 0x11, 0x14, 0x15, 0x17 ->
+                    to < 3 ? NEED_MORE : 5 + (frame[2] & 0xFF);
+            //[address] [function] [byte count (2)] [data] [CRC16]
+            case 0x18 -> to < 4 ? NEED_MORE : 6 + ((frame[2] & 0xFF) << 8 | frame[3] & 0xFF);
+            case 0x07 -> 5;
+            case 0x05, 0x06, 0x08, 0x0B, 0x0F, 0x10 -> 8;
+            case 0x16 -> 10;
+            default -> UNTIL_SILENCE;
+        };
+    }
+}
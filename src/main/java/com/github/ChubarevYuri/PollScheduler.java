@@ -0,0 +1,199 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler of cyclic tasks of devices (survey, reconnect) on one {@link Port} connection.
+ * <br>Survey tasks are executed by {@code THREADS} threads, {@link Port.Priority#RECONNECT} tasks by their own
+ * {@code RECONNECT_THREADS} threads: devices waiting for answer on reconnect can not stop survey.
+ * A thread is busy only while a task works with the connection, so CPU use does not depend on count of devices.
+ * <br>Returned by {@link Port#getPollScheduler()}.
+ */
+public final class PollScheduler {
+
+    /**
+     * Count of threads of survey tasks.
+     */
+    private static final int THREADS = 2;
+
+    /**
+     * Count of threads of reconnect tasks.
+     */
+    private static final int RECONNECT_THREADS = 1;
+
+    /**
+     * Cyclic task.
+     */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * Execute task.
+         * @return delay (nanoseconds) before the next execution. If less than zero then task is stopped.
+         */
+        long run();
+    }
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor reconnectExecutor;
+
+    PollScheduler(@NotNull String name) {
+        executor = createExecutor(THREADS, "PollScheduler " + name);
+        reconnectExecutor = createExecutor(RECONNECT_THREADS, "PollScheduler reconnect " + name);
+    }
+
+    private static @NotNull ScheduledThreadPoolExecutor createExecutor(int threads, @NotNull String name) {
+        ScheduledThreadPoolExecutor result = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        result.setRemoveOnCancelPolicy(true);
+        return result;
+    }
+
+    /**
+     * Schedule cyclic task.
+     * @param action task.
+     * @param delay delay (nanoseconds) before the first execution.
+     * @param priority {@link Port.Priority} of transactions of task.
+     * @return {@code Task}.
+     */
+    public @NotNull Task schedule(@NotNull Action action, long delay, @NotNull Port.Priority priority) {
+        Task task = new Task(action, priority);
+        task.reschedule(delay);
+        return task;
+    }
+
+    /**
+     * Stop all tasks and threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        reconnectExecutor.shutdownNow();
+    }
+
+    /**
+     * Return scheduler is stopped.
+     * @return true if {@code shutdown()} was called.
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Cyclic task of {@code PollScheduler}.
+     */
+    public final class Task {
+        private final @NotNull Action action;
+        private final @NotNull Port.Priority priority;
+        private final @NotNull ScheduledThreadPoolExecutor executor;
+
+        private ScheduledFuture<?> future = null;
+        private boolean running = false;
+        private boolean cancelled = false;
+
+        /**
+         * Number of the last submit: replaced execution is skipped.
+         */
+        private long generation = 0;
+
+        /**
+         * Delay of execution requested by {@code reschedule()} while task is running.
+         */
+        private long next = -1;
+
+        private Task(@NotNull Action action, @NotNull Port.Priority priority) {
+            this.action = action;
+            this.priority = priority;
+            executor = priority == Port.Priority.RECONNECT ? reconnectExecutor : PollScheduler.this.executor;
+        }
+
+        private void execute(long generation) {
+            synchronized (this) {
+                if (cancelled || generation != this.generation) {
+                    return;
+                }
+                running = true;
+                next = -1;
+            }
+            long delay = -1;
+            Port.Priority.Scope scope = priority.enter();
+            try {
+                delay = action.run();
+            } catch (Exception ignored) {
+            } finally {
+                scope.close();
+                synchronized (this) {
+                    running = false;
+                    if (next >= 0 && (delay < 0 || next < delay)) {
+                        delay = next;
+                    }
+                    if (delay >= 0) {
+                        submit(delay);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param delay nanoseconds.
+         */
+        private void submit(long delay) {
+            if (cancelled || executor.isShutdown()) {
+                return;
+            }
+            long g = ++generation;
+            try {
+                future = executor.schedule(() -> execute(g), delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ignored) {}
+        }
+
+        /**
+         * Execute task after {@code delay} instead of the planned time.
+         * @param delay nanoseconds.
+         */
+        public void reschedule(long delay) {
+            if (delay < 0) {
+                delay = 0;
+            }
+            synchronized (this) {
+                if (running) {
+                    //задача выполняется: новая задержка применяется после её окончания
+                    next = delay;
+                    return;
+                }
+                if (future != null) {
+                    future.cancel(false);
+                }
+                submit(delay);
+            }
+        }
+
+        /**
+         * Stop task.
+         */
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                if (future != null) {
+                    future.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Return task is stopped.
+         * @return true if {@code cancel()} was called.
+         */
+        public boolean isCancelled() {
+            synchronized (this) {
+                return cancelled;
+            }
+        }
+    }
+}
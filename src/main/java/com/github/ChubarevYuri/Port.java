@@ -1,6 +1,7 @@
 package com.github.ChubarevYuri;
 
-import jssc.*;
+import jssc.SerialPort;
+import jssc.SerialPortList;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,30 +10,377 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Serial port connection.
+ * <br>{@code Port} (and its clones) hold the connection until {@code dispose()}: the last disposed {@code Port}
+ * stops threads of connection and frees the port. {@code open()} and {@code close()} only start and end a session.
  * <br>In {@link com.github.ChubarevYuri.LOG} use label "serialPort"
  */
 public class Port implements ByteConvertedObject {
 
     public static final String LOG_LABEL = "serialPort";
 
-    private static final int TICK_CONVERTER = 250;
-
     private static final @NotNull String PFES = "endLine cannot be \"\"";
     private static final @NotNull String PFEB = "endBytes cannot be []";
 
-    private final SerialPort serialPort;
+    private final Transport transport;
+
+    private final Connection connection;
+
+    /**
+     * Used connections by upper case name.
+     */
+    private static final ConcurrentHashMap<String, Connection> ports = new ConcurrentHashMap<>();
+
+    /**
+     * {@code Port} is disposed and does not hold the connection.
+     */
+    private volatile boolean released = false;
+
+    /**
+     * Event occurs when data is received outside transactions (for example, a device sends data by itself or
+     * answers other master). Parameter is all data received since the last silence of {@code t3.5}.
+     * <br>Shared by all {@code Port} of connection. Raised in the receive thread of {@link Transport}.
+     * <br>Data is received only while connection is opened: at least one {@code Port} of connection must have
+     * an open session ({@code open()}).
+     */
+    public final Event<byte @NotNull []> onPassiveReceive;
+
+    /**
+     * {@link Transport} shared by all {@code Port} with the same name.
+     * <br>Connection listener forwards received data to the listener of the current transaction.
+     */
+    private static final class Connection implements Transport.Listener {
+        private final @NotNull Transport transport;
+
+        /**
+         * Count of opened sessions ({@link Port#open()}).
+         */
+        private int sessions = 0;
+
+        /**
+         * Parameters applied to the opened connection. Null if connection closed.
+         */
+        private @Nullable Params params = null;
+
+        /**
+         * Listener of the current transaction.
+         */
+        private volatile @Nullable Transport.Listener listener = null;
+
+        /**
+         * Received data of the current transaction. Reused by all transactions on the connection.
+         */
+        private byte @NotNull [] rec = new byte[256];
+
+        /**
+         * Count of received bytes in {@code rec}.
+         */
+        private int recLength = 0;
+
+        /**
+         * Send data copied from {@link ByteBuffer}. Reused while send length is not changed.
+         */
+        private byte @NotNull [] send = new byte[0];
+
+        /**
+         * Transactions waiting for the dispatcher.
+         */
+        private final PriorityBlockingQueue<Request<?>> queue = new PriorityBlockingQueue<>();
+
+        /**
+         * Count of submitted transactions: order of transactions with the same {@link Priority}.
+         */
+        private long sequence = 0;
+
+        /**
+         * Thread executing transactions one by one: the highest {@link Priority} first, then in order of submit.
+         * Started by the first transaction.
+         */
+        private volatile @Nullable Thread dispatcher = null;
+
+        /**
+         * Scheduler of devices on the connection. Created by the first {@link Port#getPollScheduler()}.
+         */
+        private @Nullable PollScheduler scheduler = null;
+
+        /**
+         * Count of {@code Port} holding the connection. Changed only in {@code ports}.
+         */
+        private int references = 0;
+
+        /**
+         * Connection is released by the last {@code Port}.
+         */
+        private volatile boolean closed = false;
+
+        private Connection(@NotNull Transport transport) {
+            this.transport = transport;
+            transport.setListener(this);
+        }
+
+        private @NotNull PortException closedException() {
+            return new PortException("Port %s closed".formatted(transport.getName()));
+        }
+
+        /**
+         * Add transaction to the queue of dispatcher.
+         * @param transaction transaction.
+         * @param priority {@link Priority} of transaction.
+         * @return added request.
+         * @param <T> result type.
+         */
+        private <T> @NotNull Request<T> submit(@NotNull Transaction<T> transaction, @NotNull Priority priority) {
+            synchronized (queue) {
+                Request<T> request = new Request<>(transaction, new CompletableFuture<>(), priority, sequence++);
+                if (closed) {
+                    request.future().completeExceptionally(closedException());
+                    return request;
+                }
+                if (dispatcher == null) {
+                    Thread thread = new Thread(this::dispatch, "Port " + transport.getName());
+                    thread.setDaemon(true);
+                    dispatcher = thread;
+                    thread.start();
+                }
+                queue.add(request);
+                return request;
+            }
+        }
+
+        /**
+         * Dispatcher: the only thread which sends and receives data on the connection.
+         * <br>Transaction is executed under the monitor of connection and is never interrupted by a request of
+         * higher {@link Priority}.
+         */
+        private void dispatch() {
+            while (!closed) {
+                Request<?> request;
+                try {
+                    request = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                synchronized (this) {
+                    request.execute();
+                }
+            }
+        }
+
+        /**
+         * Stop dispatcher and {@link PollScheduler}, fail waiting transactions and close {@link Transport}.
+         * <br>Called when the last {@code Port} released the connection.
+         */
+        private void shutdown() {
+            Thread thread;
+            PollScheduler scheduler;
+            synchronized (queue) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                thread = dispatcher;
+                scheduler = this.scheduler;
+                for (Request<?> request; (request = queue.poll()) != null; ) {
+                    request.future().completeExceptionally(closedException());
+                }
+            }
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+            if (thread != null) {
+                thread.interrupt();
+            }
+            //дождаться окончания выполняемой транзакции
+            synchronized (this) {
+                sessions = 0;
+                listener = null;
+                params = null;
+                transport.close();
+                transport.setListener(null);
+            }
+        }
+
+        /**
+         * Max silence (nanoseconds) between bytes of frame at applied parameters.
+         */
+        private volatile long gap = 0;
+
+        /**
+         * Data received outside transactions since the last silence.
+         */
+        private byte @NotNull [] passive = new byte[0];
+        private int passiveLength = 0;
+        private long passiveTime = 0;
+
+        private final Event<byte @NotNull []> onPassiveReceive = new Event<>();
+
+        @Override
+        public void onReceive(byte @NotNull [] data, int offset, int length) {
+            Transport.Listener l = listener;
+            if (l != null) {
+                l.onReceive(data, offset, length);
+            } else {
+                passive(data, offset, length);
+            }
+        }
+
+        /**
+         * Add data received outside transaction to the passive frame and raise {@code onPassiveReceive}.
+         * @param data received data.
+         * @param offset index of first received byte in {@code data}.
+         * @param length count of received bytes.
+         */
+        private void passive(byte @NotNull [] data, int offset, int length) {
+            byte[] frame;
+            synchronized (onPassiveReceive) {
+                long now = System.nanoTime();
+                if (now - passiveTime > gap) {
+                    passiveLength = 0;
+                }
+                passiveTime = now;
+                if (passiveLength + length > passive.length) {
+                    passive = Arrays.copyOf(passive, Math.max(passive.length * 2, passiveLength + length));
+                }
+                System.arraycopy(data, offset, passive, passiveLength, length);
+                passiveLength += length;
+                frame = Arrays.copyOf(passive, passiveLength);
+            }
+            onPassiveReceive.raise(frame);
+        }
+    }
+
+    /**
+     * Transaction executed by the dispatcher.
+     * @param <T> result type.
+     */
+    @FunctionalInterface
+    private interface Transaction<T> {
+        T run() throws PortException;
+    }
+
+    /**
+     * Transaction with its result.
+     * @param transaction transaction.
+     * @param future result of transaction.
+     * @param priority {@link Priority} of transaction.
+     * @param sequence order of submit.
+     * @param <T> result type.
+     */
+    private record Request<T>(@NotNull Transaction<T> transaction,
+                              @NotNull CompletableFuture<T> future,
+                              @NotNull Priority priority,
+                              long sequence) implements Comparable<Request<?>> {
+
+        @Override
+        public int compareTo(@NotNull Request<?> o) {
+            int result = priority.compareTo(o.priority);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+
+        void execute() {
+            //отменённые запросы не отправляются
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(transaction.run());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
 
-    private static final ArrayList<SerialPort> ports = new ArrayList<>();
+    /**
+     * Class of transaction. The dispatcher of connection executes the waiting transaction of the highest class
+     * first, so a control write waits at most for the transaction being executed.
+     * <br>Class only orders transactions that have not started. A transaction being executed is not interrupted:
+     * the dispatcher holds the monitor of connection for the whole transaction, including the silence before
+     * frame, so a control write is sent after it, and getters and setters of {@code Port} wait for it too.
+     * <br>Class is set for the current thread by {@code enter()}:
+     * <pre>{@code
+     * Port.Priority.Scope scope = Port.Priority.CONTROL.enter();
+     * try {
+     *     port.writeRead(data);
+     * } finally {
+     *     scope.close();
+     * }
+     * }</pre>
+     * Transactions of threads without class are {@code READ}.
+     */
+    public enum Priority {
+        /**
+         * Write to device output.
+         */
+        CONTROL,
+        /**
+         * Read on demand.
+         */
+        READ,
+        /**
+         * Cyclic survey.
+         */
+        POLL,
+        /**
+         * Restore communication with device.
+         */
+        RECONNECT;
+
+        private static final ThreadLocal<Priority> current = ThreadLocal.withInitial(() -> READ);
+
+        /**
+         * Return class of transactions of the current thread.
+         * @return {@code Priority}.
+         */
+        public static @NotNull Priority current() {
+            return current.get();
+        }
+
+        /**
+         * Set class of transactions of the current thread until {@code Scope} is closed.
+         * @return {@code Scope} restoring the previous class.
+         */
+        public @NotNull Scope enter() {
+            Priority previous = current.get();
+            current.set(this);
+            return () -> current.set(previous);
+        }
+
+        /**
+         * Class of transactions set by {@code enter()}.
+         */
+        public interface Scope extends AutoCloseable {
+            @Override
+            void close();
+        }
+    }
 
-    private Port(@NotNull final SerialPort serialPort) {
-        this.serialPort = serialPort;
-        ports.add(serialPort);
+    /**
+     * Connection parameters.
+     */
+    private record Params(@NotNull BaudRate baudRate,
+                          @NotNull DataBits dataBits,
+                          @NotNull StopBits stopBits,
+                          @NotNull Parity parity,
+                          @NotNull FlowControl flowControl) { }
+
+    private Port(@NotNull final Connection connection) {
+        this.connection = connection;
+        this.transport = connection.transport;
+        this.onPassiveReceive = connection.onPassiveReceive;
     }
 
     /**
@@ -41,31 +389,105 @@ public class Port implements ByteConvertedObject {
      * @throws PortException serial port not found.
      */
     public Port(@NotNull String portName) throws PortException {
-        synchronized (ports) {
-            //если порт с таким именем уже задействован - использовать его
-            for (SerialPort port : ports) {
-                if (portName.equalsIgnoreCase(port.getPortName())) {
-                    serialPort = port;
-                    return;
+        this(connect(portName));
+    }
+
+    /**
+     * Create connection with {@link Transport}.
+     * <br>{@code Port} created with the same {@code transport} share the connection.
+     * @param transport {@link Transport}.
+     * @throws PortException other {@link Transport} with the same name is used.
+     */
+    public Port(@NotNull Transport transport) throws PortException {
+        this(connect(transport, true));
+    }
+
+    private static @NotNull String key(@NotNull String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Hold connection with serial port.
+     * @param portName serial port name.
+     * @return connection.
+     * @throws PortException serial port not found.
+     */
+    private static @NotNull Connection connect(@NotNull String portName) throws PortException {
+        //если порт с таким именем уже задействован - использовать его
+        Connection connection = ports.computeIfPresent(key(portName), (k, c) -> {
+            c.references++;
+            return c;
+        });
+        if (connection != null) {
+            return connection;
+        }
+        //если порта с таким именем нет в системе - выдать ошибку
+        {
+            boolean havePort = false;
+            for (String port : portListNames()) {
+                if (portName.equalsIgnoreCase(port)) {
+                    havePort = true;
+                    break;
                 }
             }
-            //если порта с таким именем нет в системе - выдать ошибку
-            {
-                boolean havePort = false;
-                for (String port : portListNames()) {
-                    if (portName.equalsIgnoreCase(port)) {
-                        havePort = true;
-                        break;
-                    }
-                }
-                if (!havePort) {
-                    throw new PortException("Port %s not found".formatted(portName));
-                }
+            if (!havePort) {
+                throw new PortException("Port %s not found".formatted(portName));
+            }
+        }
+        return connect(new SerialTransport(portName), false);
+    }
+
+    /**
+     * Hold connection with {@link Transport}.
+     * @param transport {@link Transport}.
+     * @param exclusive if true other {@link Transport} with the same name is an error, else its connection is used.
+     * @return connection.
+     * @throws PortException other {@link Transport} with the same name is used.
+     */
+    private static @NotNull Connection connect(@NotNull Transport transport, boolean exclusive) throws PortException {
+        Connection connection = ports.compute(key(transport.getName()), (k, c) -> {
+            if (c == null) {
+                c = new Connection(transport);
+            } else if (exclusive && c.transport != transport) {
+                return c;
             }
+            c.references++;
+            return c;
+        });
+        if (exclusive && connection.transport != transport) {
+            throw new PortException("Port %s already used".formatted(transport.getName()));
+        }
+        return connection;
+    }
 
-            serialPort = new SerialPort(portName);
+    /**
+     * Hold connection one more time (for clone). Released connection is not held.
+     * @param connection connection.
+     * @return {@code connection}.
+     */
+    private static @NotNull Connection retain(@NotNull Connection connection) {
+        ports.computeIfPresent(key(connection.transport.getName()), (k, c) -> {
+            if (c == connection) {
+                c.references++;
+            }
+            return c;
+        });
+        return connection;
+    }
 
-            ports.add(serialPort);
+    /**
+     * Release connection. The last release stops the connection and frees its name.
+     * @param connection connection.
+     */
+    private static void release(@NotNull Connection connection) {
+        Connection left = ports.computeIfPresent(key(connection.transport.getName()), (k, c) -> {
+            if (c != connection) {
+                return c;
+            }
+            return --c.references > 0 ? c : null;
+        });
+        if (left == null) {
+            connection.shutdown();
         }
     }
 
@@ -90,8 +512,30 @@ public class Port implements ByteConvertedObject {
         setStopBits(stopBits);
     }
 
+    /**
+     * Log data of successful transactions (level TRACE). Failed transactions are always logged (level DEBUG).
+     */
+    private static volatile boolean dataLog = false;
+
+    /**
+     * Return data of successful transactions is logged.
+     * @return true if data is logged.
+     */
+    public static boolean isDataLog() {
+        return dataLog;
+    }
+
+    /**
+     * Set data of successful transactions is logged (level TRACE). Off by default: a successful transaction
+     * without log does not copy or convert its data. Failed transactions are always logged (level DEBUG).
+     * @param v true if data is logged.
+     */
+    public static void setDataLog(boolean v) {
+        dataLog = v;
+    }
+
     private void sendLog(@NotNull Level level, @NotNull String message) {
-        LOG.send(LOG_LABEL ,level, serialPort.getPortName() + ": " + message);
+        LOG.send(LOG_LABEL ,level, transport.getName() + ": " + message);
     }
 
     private void sendLog(@Nullable String send, @Nullable String rec, @Nullable String msg) {
@@ -126,19 +570,44 @@ public class Port implements ByteConvertedObject {
     }
 
     /**
-     * Return {@link SerialPort} name.
-     * @return {@link SerialPort} name.
+     * Return {@link Transport} name.
+     * @return {@link Transport} name.
      */
     public @NotNull String getName() {
-        return serialPort.getPortName();
+        return transport.getName();
+    }
+
+    /**
+     * Return used {@link Transport}.
+     * @return used {@link Transport}.
+     */
+    public @NotNull Transport getTransport() {
+        return transport;
     }
 
     /**
      * Return used {@link SerialPort}.
-     * @return used {@link SerialPort}.
+     * @return used {@link SerialPort}. Null if {@link Transport} is not {@link SerialTransport}.
+     */
+    public @Nullable SerialPort getSerialPort() {
+        return transport instanceof SerialTransport serial ? serial.getSerialPort() : null;
+    }
+
+    /**
+     * Return {@link PollScheduler} shared by all {@code Port} of connection.
+     * @return {@link PollScheduler}.
      */
-    public @NotNull SerialPort getSerialPort() {
-        return serialPort;
+    public @NotNull PollScheduler getPollScheduler() {
+        synchronized (connection.queue) {
+            if (connection.scheduler == null) {
+                connection.scheduler = new PollScheduler(transport.getName());
+                //задачи закрытого соединения не выполняются
+                if (connection.closed) {
+                    connection.scheduler.shutdown();
+                }
+            }
+            return connection.scheduler;
+        }
     }
 
     private static final Charset baseCharset = StandardCharsets.UTF_8;
@@ -149,7 +618,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link Charset}.
      */
     public @NotNull Charset getCharset() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return charset;
         }
     }
@@ -159,7 +628,7 @@ public class Port implements ByteConvertedObject {
      * @param v {@link Charset}.
      */
     public void setCharset(@NotNull Charset v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.charset = v;
         }
     }
@@ -172,7 +641,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link BaudRate}.
      */
     public @NotNull BaudRate getBaudRate() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return baudRate;
         }
     }
@@ -182,8 +651,9 @@ public class Port implements ByteConvertedObject {
      * @param v {@link BaudRate}.
      */
     public void setBaudRate(@NotNull BaudRate v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.baudRate = v;
+            frameTiming = null;
         }
     }
 
@@ -195,7 +665,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link Parity}.
      */
     public @NotNull Parity getParity() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return parity;
         }
     }
@@ -205,8 +675,9 @@ public class Port implements ByteConvertedObject {
      * @param v {@link Parity}.
      */
     public void setParity(@NotNull Parity v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.parity = v;
+            frameTiming = null;
         }
     }
 
@@ -218,7 +689,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link DataBits}.
      */
     public @NotNull DataBits getDataBits() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return dataBits;
         }
     }
@@ -228,8 +699,9 @@ public class Port implements ByteConvertedObject {
      * @param v {@link DataBits}.
      */
     public void setDataBits(@NotNull DataBits v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.dataBits = v;
+            frameTiming = null;
         }
     }
 
@@ -241,7 +713,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link StopBits}.
      */
     public @NotNull StopBits getStopBits() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return stopBits;
         }
     }
@@ -251,8 +723,9 @@ public class Port implements ByteConvertedObject {
      * @param v {@link StopBits}.
      */
     public void setStopBits(@NotNull StopBits v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.stopBits = v;
+            frameTiming = null;
         }
     }
 
@@ -264,7 +737,7 @@ public class Port implements ByteConvertedObject {
      * @return selected {@link FlowControl}.
      */
     public @NotNull FlowControl getFlowControl() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return flowControl;
         }
     }
@@ -274,11 +747,26 @@ public class Port implements ByteConvertedObject {
      * @param v {@link FlowControl}.
      */
     public void setFlowControl(@NotNull FlowControl v) {
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.flowControl = v;
         }
     }
 
+    private @Nullable FrameTiming frameTiming = null;
+
+    /**
+     * Return {@link FrameTiming} of selected parameters.
+     * @return {@link FrameTiming}.
+     */
+    public @NotNull FrameTiming getFrameTiming() {
+        synchronized (connection) {
+            if (frameTiming == null) {
+                frameTiming = new FrameTiming(baudRate, dataBits, stopBits, parity);
+            }
+            return frameTiming;
+        }
+    }
+
     private int readTimeout = 0;
 
     /**
@@ -287,7 +775,7 @@ public class Port implements ByteConvertedObject {
      * @return timeout.
      */
     public int getReadTimeout() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return readTimeout;
         }
     }
@@ -299,7 +787,7 @@ public class Port implements ByteConvertedObject {
      */
     public void setReadTimeout(int v) {
         if (v < 0) v = 0;
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.readTimeout = v;
         }
     }
@@ -312,7 +800,7 @@ public class Port implements ByteConvertedObject {
      * @return {@code String}.
      */
     public @NotNull String getEndLine() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return endLine;
         }
     }
@@ -322,7 +810,7 @@ public class Port implements ByteConvertedObject {
      * @return {@code byte[]}.
      */
     public byte @NotNull [] getEndBytes() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             return endLine.getBytes(charset);
         }
     }
@@ -336,7 +824,7 @@ public class Port implements ByteConvertedObject {
         if (v.isEmpty()) {
             throw new PortFormatException(PFES);
         }
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.endLine = v;
         }
     }
@@ -350,381 +838,870 @@ public class Port implements ByteConvertedObject {
         if (v.length == 0) {
             throw new PortFormatException(PFEB);
         }
-        synchronized (serialPort) {
+        synchronized (connection) {
             this.endLine = new String(v, charset);
         }
     }
 
-    protected abstract class SendRec {
-        public void run(byte @Nullable [] data, @Nullable SerialPortEventListener listener) throws PortException {
-            synchronized (serialPort) {
-                try {
-                    try {
-                        if (!serialPort.isOpened()) {
-                            if (!serialPort.openPort()) {
-                                throw new PortException("Port %s open failed".formatted(serialPort.getPortName()));
-                            }
-                        }
-                    } catch (SerialPortException e) {
-                        throw new PortException("Port %s open failed".formatted(serialPort.getPortName()));
-                    }
-                    try {
-                        serialPort.setFlowControlMode(getFlowControl().intValue());
-                        serialPort.setParams(
-                                getBaudRate().intValue(),
-                                getDataBits().intValue(),
-                                getStopBits().intValue(),
-                                getParity().intValue());
-                    } catch (SerialPortException e) {
-                        throw new PortException("Port %s setParams failed".formatted(serialPort.getPortName()));
-                    }
-                    if (listener != null) {
-                        try {
-                            serialPort.readBytes();
-                        } catch (SerialPortException e) {}
-                        try {
-                            serialPort.addEventListener(listener);
-                        } catch (SerialPortException e) {
-                            throw new PortException("Port %s addEventListener failed".formatted(serialPort.getPortName()));
-                        }
-                    }
-                    if (data != null) {
-                        try {
-                            serialPort.writeBytes(data);
-                        } catch (SerialPortException e) {
-                            throw new PortException("Port %s write failed".formatted(serialPort.getPortName()));
-                        }
-                    }
-                    if (listener != null) {
-                        long timeout = System.currentTimeMillis() + getReadTimeout();
-                        while (!checkEndRead() && (getReadTimeout() <= 0 || System.currentTimeMillis() <= timeout)) {
-                            try {
-                                Thread.sleep(0,1);
-                            } catch (Exception ignored) {
-                            }
-                        }
-                        if (!checkEndRead()) {
-                            throw new PortException("Port %s read failed (Timeout occurred)".formatted(serialPort.getPortName()));
-                        }
-                    } else if (data != null) {
-                        //пауза после отправки длительностью в 1 байт
-                        int nanos = baudRate.nanosecondsPerByte() * 2;
-                        try {
-                            Thread.sleep(nanos / 1000, nanos % 1000);
-                        } catch (Exception ignored) { }
-                    }
-                } finally {
-                    try {
-                        serialPort.removeEventListener();
-                    } catch (Exception ignored) {}
-                    try {
-                        serialPort.closePort();
-                    } catch (Exception ignored) {}
-                }
-            }
-        }
+    //region Session
+
+    private boolean session = false;
 
-        public abstract boolean checkEndRead();
+    /**
+     * Return the session is opened.
+     * @return true if {@code open()} was called and {@code close()} was not.
+     */
+    public boolean isOpen() {
+        synchronized (connection) {
+            return session;
+        }
     }
 
-    protected class ReadListener implements SerialPortEventListener {
-        final boolean[] send = {false};
-        final ArrayList<java.lang.Byte> rec = new ArrayList<>();
-        final long[] timer = {System.currentTimeMillis()};
+    /**
+     * Open session: connection stays opened between transactions until {@code close()}.
+     * <br>Parameters are applied to connection only when they changed.
+     * <br>Without session connection is opened and closed on every transaction.
+     * @throws PortException connection open failed. {@code Port} is disposed.
+     */
+    public void open() throws PortException {
+        synchronized (connection) {
+            if (session) {
+                return;
+            }
+            if (released || connection.closed) {
+                throw connection.closedException();
+            }
+            if (connection.sessions == 0 && !transport.isOpened()) {
+                transport.open();
+            }
+            connection.sessions++;
+            session = true;
+            sendLog(Level.DEBUG, "session opened");
+        }
+    }
 
+    /**
+     * Close session. Connection is closed when the last session on it is closed.
+     * <br>{@code Port} can be opened again.
+     */
+    public void close() {
+        synchronized (connection) {
+            if (!session) {
+                return;
+            }
+            session = false;
+            //сессии закрытого соединения уже закрыты
+            if (!connection.closed && --connection.sessions == 0) {
+                connection.listener = null;
+                connection.params = null;
+                transport.close();
+            }
+            sendLog(Level.DEBUG, "session closed");
+        }
+    }
 
-        @Override
-        public void serialEvent(SerialPortEvent serialPortEvent) {
-            try {
-                if (!rec.isEmpty()) {
-                    long now = System.currentTimeMillis();
-                    long last = timer[0];
-                    long check = baudRate.nanosecondsPerByte() / 250 + 1;
-                    long ex = last + check;
-                    boolean end = now > ex;
-                    if (end) {
-                        send[0] = true;
-                        return;
-                    }
-                }
-                byte[] s = serialPort.readBytes();
-                if (s != null && s.length > 0) {
-                    timer[0] = System.currentTimeMillis();
-                    for (byte c : s) {
-                        rec.add(c);
-                    }
-                }
-            } catch (Exception ignored) {}
+    /**
+     * Close session and release connection.
+     * <br>When the last {@code Port} of connection (clones included) is disposed, dispatcher and
+     * {@link PollScheduler} are stopped and {@link Transport} is closed.
+     * <br>Disposed {@code Port} cannot be used: transactions fail with {@link PortException}.
+     */
+    public void dispose() {
+        close();
+        synchronized (connection) {
+            if (released) {
+                return;
+            }
+            released = true;
         }
+        release(connection);
     }
 
-    protected class ReadToListener implements SerialPortEventListener {
-        final boolean[] send = {false};
-        final ArrayList<java.lang.Byte> rec = new ArrayList<>();
-        final long[] timer = {System.currentTimeMillis()};
-        final boolean[] timerTick = {false};
-        final byte @NotNull [] end;
+    /**
+     * Return {@code Port} is disposed.
+     * @return true if {@code dispose()} was called.
+     */
+    public boolean isDisposed() {
+        return released;
+    }
 
-        public ReadToListener(byte @NotNull [] end) {
-            this.end = end;
+    /**
+     * Apply parameters to opened connection if they differ from applied ones.
+     * @throws PortException setParams failed.
+     */
+    private void applyParams() throws PortException {
+        Params params = new Params(getBaudRate(), getDataBits(), getStopBits(), getParity(), getFlowControl());
+        if (params.equals(connection.params)) {
+            return;
         }
+        connection.params = null;
+        transport.setParams(params.baudRate(), params.dataBits(), params.stopBits(), params.parity(),
+                params.flowControl());
+        connection.params = params;
+        connection.gap = getFrameTiming().getT35Nanos();
+    }
 
-        @Override
-        public void serialEvent(SerialPortEvent serialPortEvent) {
+    //endregion
+
+    /**
+     * Send data and wait the end of answer.
+     * @param data send data. Maybe null.
+     * @param listener answer listener. If null answer is not read.
+     * @throws PortException {@code Port} connection error, timeout occurred.
+     */
+    private void sendRec(byte @Nullable [] data, @Nullable ReadListener listener) throws PortException {
+        synchronized (connection) {
+            if (connection.closed) {
+                throw connection.closedException();
+            }
+            boolean persistent = connection.sessions > 0;
             try {
-                if (!rec.isEmpty()) {
-                    if (System.currentTimeMillis() > timer[0] + (baudRate.nanosecondsPerByte() / 500 + 1)) {
-                        timerTick[0] = true;
-                        return;
-                    }
+                if (!transport.isOpened()) {
+                    transport.open();
                 }
-                byte[] s = serialPort.readBytes();
-                if (s == null) {
-                    return;
-                } else {
-                    timer[0] = System.currentTimeMillis();
+                applyParams();
+                if (listener != null) {
+                    transport.purge();
+                    connection.listener = listener;
                 }
-                for (byte c : s) {
-                    rec.add(c);
-                    if (end.length > 0) {
-                        if (rec.size() >= end.length) {
-                            boolean e = true;
-                            for (int i = 0; i < end.length; i++) {
-                                if (rec.get(rec.size() - end.length + i) != end[i]) {
-                                    e = false;
-                                    break;
-                                }
-                            }
-                            if (e) {
-                                for (int i = rec.size() - end.length; i < rec.size(); i++) {
-                                    rec.remove(i);
-                                }
-                                send[0] = true;
-                            }
+                if (data != null) {
+                    transport.write(data, 0, data.length);
+                }
+                if (listener != null) {
+                    if (!listener.await(getReadTimeout() * 1_000_000L)) {
+                        throw new PortException("Port %s read failed (Timeout occurred)".formatted(
+                                transport.getName()));
+                    }
+                } else if (data != null) {
+                    //пауза до окончания передачи и межкадрового интервала
+                    FrameTiming timing = getFrameTiming();
+                    long deadline = System.nanoTime() + timing.transmitNanos(data.length) + timing.getT35Nanos();
+                    for (long wait; (wait = deadline - System.nanoTime()) > 0; ) {
+                        LockSupport.parkNanos(wait);
+                        if (Thread.interrupted()) {
+                            Thread.currentThread().interrupt();
+                            break;
                         }
                     }
                 }
-            } catch (Exception ignored) {}
+            } finally {
+                if (listener != null) {
+                    listener.stop();
+                }
+                connection.listener = null;
+                if (!persistent) {
+                    transport.close();
+                    connection.params = null;
+                }
+            }
         }
     }
 
-    protected class ReadSizeListener implements SerialPortEventListener {
-        byte[] buffer;
-        final int[] bytesRead = {0};
-        final long[] timer = {System.currentTimeMillis()};
-        final boolean[] timerTick = {false};
+    /**
+     * Listener of answer: reads data until silence after last received byte.
+     * <br>Received data and end of answer are signaled to the waiting thread, so it does not poll.
+     */
+    protected class ReadListener implements Transport.Listener {
 
-        public ReadSizeListener(int size) {
-            buffer = new byte[size];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+
+        /**
+         * Max silence (nanoseconds) between bytes of answer: {@code t3.5} of {@link FrameTiming}.
+         */
+        private final long gap = getFrameTiming().getT35Nanos();
+
+        private long timer = 0;
+        private boolean received = false;
+        private boolean complete = false;
+        private boolean silence = false;
+        private boolean stopped = false;
+
+        public ReadListener() {
+            connection.recLength = 0;
         }
 
-        public void serialEvent(SerialPortEvent event) {
+        @Override
+        public void onReceive(byte @NotNull [] data, int offset, int length) {
+            lock.lock();
             try {
-                if (bytesRead[0] != 0) {
-                    if (System.currentTimeMillis() > timer[0] + (baudRate.nanosecondsPerByte() / 500 + 1)) {
-                        timerTick[0] = true;
-                        return;
-                    }
+                if (complete || silence || stopped) {
+                    return;
                 }
-                byte[] s = serialPort.readBytes();
-                if (s == null) {
+                if (received && System.nanoTime() - timer > gap) {
+                    silence = true;
+                    changed.signalAll();
                     return;
-                } else {
-                    timer[0] = System.currentTimeMillis();
                 }
-                for (byte c : s) {
-                    if (bytesRead[0] < buffer.length) {
-                        buffer[bytesRead[0]++] = c;
-                    }
+                if (length > 0) {
+                    timer = System.nanoTime();
+                    received = true;
+                    complete = accept(data, offset, length);
+                    changed.signalAll();
                 }
-            } catch (SerialPortException ignored) {}
+            } catch (Exception ignored) {
+            } finally {
+                lock.unlock();
+            }
         }
-    }
 
-    private byte @NotNull [] listenerConverter(@NotNull ArrayList<Byte> rec, byte @Nullable [] end) {
-        byte[] result = new byte[end == null ? rec.size() : rec.size() + end.length];
-        for (int i = 0; i < rec.size(); i++) {
-            result[i] = rec.get(i);
-        }
-        if (end != null) {
-            System.arraycopy(end, 0, result, rec.size(), end.length);
+        /**
+         * Add received data to answer.
+         * @param data received data.
+         * @param offset index of first received byte in {@code data}.
+         * @param length count of received bytes.
+         * @return true if answer is complete.
+         */
+        protected boolean accept(byte @NotNull [] data, int offset, int length) {
+            append(data, offset, length);
+            return false;
+        }
+
+        /**
+         * Add bytes to answer.
+         * @param data received data.
+         * @param offset index of first byte in {@code data}.
+         * @param length count of bytes.
+         */
+        protected final void append(byte @NotNull [] data, int offset, int length) {
+            if (length <= 0) {
+                return;
+            }
+            if (connection.recLength + length > connection.rec.length) {
+                connection.rec = Arrays.copyOf(connection.rec,
+                        Math.max(connection.rec.length * 2, connection.recLength + length));
+            }
+            System.arraycopy(data, offset, connection.rec, connection.recLength, length);
+            connection.recLength += length;
+        }
+
+        /**
+         * @return count of bytes in answer.
+         */
+        int length() {
+            return connection.recLength;
+        }
+
+        /**
+         * Return answer.
+         * @param end bytes added to answer. Maybe null.
+         * @return copy of answer with {@code end}.
+         */
+        byte @NotNull [] toBytes(byte @Nullable [] end) {
+            int length = connection.recLength;
+            byte[] result = Arrays.copyOf(connection.rec, end == null ? length : length + end.length);
+            if (end != null) {
+                System.arraycopy(end, 0, result, length, end.length);
+            }
+            return result;
         }
-        return result;
-    }
 
-    /**
-     * Send message on {@code Port} and read answer.
-     * @param data send data.
-     * @return answer data.
-     * @throws PortException {@code Port} connection error.
-     */
-    public byte @NotNull [] writeRead(byte @NotNull [] data) throws PortException {
-        synchronized (serialPort) {
-            ReadListener listener = new ReadListener();
-            String msg = null;
-            byte[] result;
+        /**
+         * Wait for complete answer or silence after received data.
+         * @param timeout max wait (nanoseconds). If 0 then execution time control is not performed.
+         * @return false if timeout occurred.
+         * @throws PortException wait interrupted.
+         */
+        boolean await(long timeout) throws PortException {
+            long deadline = System.nanoTime() + timeout;
+            lock.lock();
             try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
+                while (!complete && !silence) {
+                    long now = System.nanoTime();
+                    long wait = Long.MAX_VALUE;
+                    if (received) {
+                        wait = timer + gap - now;
+                        if (wait <= 0) {
+                            silence = true;
+                            break;
+                        }
+                    }
+                    if (timeout > 0) {
+                        if (deadline - now <= 0) {
+                            return false;
+                        }
+                        wait = Math.min(wait, deadline - now);
+                    }
+                    if (wait == Long.MAX_VALUE) {
+                        changed.await();
+                    } else {
+                        changed.awaitNanos(wait);
                     }
-                }.run(data, listener);
-            } catch (Exception e) {
-                if (listener.rec.isEmpty()) {
-                    msg = e.getMessage();
-                    throw e;
                 }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PortException("Port %s read failed (Interrupted)".formatted(transport.getName()));
             } finally {
-                result = listenerConverter(listener.rec, null);
-                sendLog(data, result, msg);
+                lock.unlock();
             }
-            return result;
         }
-    }
 
-    /**
-     * Send message on {@code Port} and read answer.
-     * @param data send message.
-     * @return answer message.
-     * @throws PortException {@code Port} connection error.
-     */
-    public @NotNull String writeRead(@NotNull String data) throws PortException {
-        synchronized (serialPort) {
-            ReadListener listener = new ReadListener();
-            String msg = null;
-            String result;
+        /**
+         * Stop receiving: data received after is ignored.
+         */
+        void stop() {
+            lock.lock();
             try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(data.getBytes(), listener);
-            } catch (Exception e) {
-                if (listener.rec.isEmpty()) {
-                    msg = e.getMessage();
-                    throw e;
-                }
+                stopped = true;
             } finally {
-                result = new String(listenerConverter(listener.rec, null));
-                sendLog(data, result, msg);
+                lock.unlock();
             }
-            return result;
         }
-    }
 
-    /**
-     * Send message on {@code Port} and read answer of a certain length.
-     * @param data send data.
-     * @param size answer length.
-     * @return answer data.
-     * @throws PortException {@code Port} connection error. Answer length != {@code size}.
-     */
-    public byte @NotNull [] writeRead(byte @NotNull [] data, int size) throws PortException {
-        synchronized (serialPort) {
-            ReadSizeListener listener = new ReadSizeListener(size);
-            String msg = null;
+        /**
+         * @return true if answer is complete (not ended by silence or timeout).
+         */
+        boolean isComplete() {
+            lock.lock();
             try {
-                new SendRec() {
-                    public boolean checkEndRead() {
-                        return listener.timerTick[0] || listener.bytesRead[0] == size ||
-                                (listener.bytesRead[0] > 0 &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(data, listener);
-                if (listener.bytesRead[0] != size) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
+                return complete;
             } finally {
-                sendLog(data, listener.buffer, msg);
+                lock.unlock();
             }
-            return listener.buffer;
         }
-    }
 
-    /**
-     * Send message on {@code Port} and read answer of a certain length.
-     * @param data send message.
-     * @param size answer length.
-     * @return answer message.
-     * @throws PortException {@code Port} connection error. Answer length != {@code size}.
+        /**
+         * @return true if received data is correct answer.
+         */
+        boolean isAnswer() {
+            return true;
+        }
+
+        /**
+         * @return true if received data is answer even if read failed.
+         */
+        boolean isPartial() {
+            return length() > 0;
+        }
+
+        /**
+         * @return bytes to end answer which are removed from answer. Maybe null.
+         */
+        byte @Nullable [] end() {
+            return null;
+        }
+    }
+
+    /**
+     * Listener of answer: ends answer when {@link FrameDecoder} finds the end of frame.
      */
-    public @NotNull String writeRead(@NotNull String data, int size) throws PortException {
-        synchronized (serialPort) {
-            ReadSizeListener listener = new ReadSizeListener(size);
-            String msg = null;
-            try {
-                new SendRec() {
-                    public boolean checkEndRead() {
-                        return listener.timerTick[0] || listener.bytesRead[0] == size ||
-                                (listener.bytesRead[0] > 0 &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(data.getBytes(), listener);
-                if (listener.bytesRead[0] != size) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
+    protected class DecoderListener extends ReadListener {
+        final @NotNull FrameDecoder decoder;
+        final byte @Nullable [] end;
+
+        /**
+         * Decoder can not find the end of frame: answer ends with silence.
+         */
+        private boolean untilSilence = false;
+
+        /**
+         * @param decoder {@link FrameDecoder}.
+         * @param end bytes at the end of frame which are removed from answer. Maybe null.
+         */
+        public DecoderListener(@NotNull FrameDecoder decoder, byte @Nullable [] end) {
+            this.decoder = decoder;
+            this.end = end;
+            decoder.reset();
+        }
+
+        @Override
+        protected boolean accept(byte @NotNull [] data, int offset, int length) {
+            int from = length();
+            append(data, offset, length);
+            if (untilSilence) {
+                return false;
+            }
+            int frame = decoder.decode(connection.rec, from, length());
+            if (frame == FrameDecoder.UNTIL_SILENCE) {
+                untilSilence = true;
+                return false;
+            }
+            if (frame < 0) {
+                return false;
+            }
+            //данные после конца кадра отбрасываются
+            connection.recLength = end == null ? frame : frame - end.length;
+            return true;
+        }
+
+        @Override
+        boolean isAnswer() {
+            return isComplete() || untilSilence;
+        }
+
+        @Override
+        boolean isPartial() {
+            return false;
+        }
+
+        @Override
+        byte @Nullable [] end() {
+            return end;
+        }
+    }
+
+    /**
+     * Listener of answer: reads data to end bytes.
+     */
+    protected class ReadToListener extends DecoderListener {
+
+        public ReadToListener(byte @NotNull [] end) {
+            super(new TerminatorDecoder(end), end);
+        }
+    }
+
+    /**
+     * Listener of answer: reads data of a certain length.
+     */
+    protected class ReadSizeListener extends DecoderListener {
+
+        public ReadSizeListener(int size) {
+            super(new FixedLengthDecoder(size), null);
+        }
+    }
+
+    /**
+     * Send data and read answer to the receive buffer of connection.
+     * <br>Executed by the dispatcher: answer is taken from the receive buffer in the same transaction.
+     * @param data send data. Maybe null.
+     * @param listener answer listener.
+     * @param text {@link Charset} to log data as message. If null data is logged as bytes.
+     * @return answer length.
+     * @throws PortException {@code Port} connection error. Answer is not accepted by {@code listener}.
+     */
+    private int transact(byte @Nullable [] data, @NotNull ReadListener listener, @Nullable Charset text)
+            throws PortException {
+        String msg = null;
+        try {
+            sendRec(data, listener);
+            if (!listener.isAnswer()) {
+                throw new PortException("Port %s read failed".formatted(transport.getName()));
+            }
+        } catch (PortException e) {
+            if (!listener.isPartial()) {
                 msg = e.getMessage();
                 throw e;
-            } finally {
-                sendLog(data, new String(listener.buffer), msg);
             }
-            return new String(listener.buffer);
+        } finally {
+            //ошибки журналируются всегда, успешные кадры только при dataLog
+            if (msg != null || dataLog) {
+                logTransaction(data, listener, text, msg);
+            }
+        }
+        return listener.length();
+    }
+
+    private void logTransaction(byte @Nullable [] data, @NotNull ReadListener listener, @Nullable Charset text,
+                                @Nullable String msg) {
+        byte[] rec = listener.toBytes(msg == null ? listener.end() : null);
+        if (text == null) {
+            sendLog(data, rec, msg);
+        } else {
+            sendLog(data != null ? new String(data, text) : null, new String(rec, text), msg);
+        }
+    }
+
+    /**
+     * Return bytes of {@code request} for send.
+     * <br>Array of {@code request} is used if it contains only send data, else bytes are copied to the send buffer
+     * of connection (reused while send length is not changed).
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @return send data.
+     */
+    private byte @NotNull [] toSend(@NotNull ByteBuffer request) {
+        int length = request.remaining();
+        if (request.hasArray() && request.arrayOffset() == 0 && request.position() == 0 &&
+                length == request.array().length) {
+            request.position(request.limit());
+            return request.array();
+        }
+        if (connection.send.length != length) {
+            connection.send = new byte[length];
+        }
+        request.get(connection.send);
+        return connection.send;
+    }
+
+    /**
+     * Copy answer from the receive buffer of connection to {@code response}.
+     * @param response buffer for answer. Position is moved to the end of answer.
+     * @param length answer length.
+     * @return answer length.
+     * @throws PortException answer longer than {@code response} remaining.
+     */
+    private int toResponse(@NotNull ByteBuffer response, int length) throws PortException {
+        if (response.remaining() < length) {
+            throw new PortException("Port %s answer (%d bytes) exceeds buffer (%d bytes)".formatted(
+                    transport.getName(), length, response.remaining()));
+        }
+        response.put(connection.rec, 0, length);
+        return length;
+    }
+
+    /**
+     * Submit transaction with {@code Priority.current()} to the dispatcher of connection.
+     * <br>On the dispatcher thread transaction is executed at once.
+     * @param transaction transaction.
+     * @return result of transaction.
+     * @param <T> result type.
+     */
+    private <T> @NotNull CompletableFuture<T> submit(@NotNull Transaction<T> transaction) {
+        if (released) {
+            return CompletableFuture.failedFuture(connection.closedException());
+        }
+        if (Thread.currentThread() == connection.dispatcher) {
+            Request<T> request = new Request<>(transaction, new CompletableFuture<>(), Priority.current(), 0);
+            request.execute();
+            return request.future();
+        }
+        return connection.submit(transaction, Priority.current()).future();
+    }
+
+    /**
+     * Wait result of transaction.
+     * @param future result of transaction.
+     * @return result.
+     * @param <T> result type.
+     * @throws PortException transaction failed. Wait interrupted.
+     */
+    private <T> T await(@NotNull CompletableFuture<T> future) throws PortException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PortException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PortException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PortException("Port %s read failed (Interrupted)".formatted(transport.getName()));
+        }
+    }
+
+    /**
+     * Send data without answer and log it.
+     * @param data send data.
+     * @param text {@link Charset} to log data as message. If null data is logged as bytes.
+     * @return null.
+     * @throws PortException {@code Port} connection error.
+     */
+    private @Nullable Void send(byte @NotNull [] data, @Nullable Charset text) throws PortException {
+        String msg = null;
+        try {
+            sendRec(data, null);
+        } catch (PortException e) {
+            msg = e.getMessage();
+            throw e;
+        } finally {
+            if (msg != null || dataLog) {
+                if (text == null) {
+                    sendLog(data, null, msg);
+                } else {
+                    sendLog(new String(data, text), null, msg);
+                }
+            }
         }
+        return null;
+    }
+
+    /**
+     * Return {@code data} with {@code getEndBytes()}.
+     * @param data data.
+     * @return new array.
+     */
+    private byte @NotNull [] withEnd(byte @NotNull [] data) {
+        byte[] end = getEndBytes();
+        byte[] result = Arrays.copyOf(data, data.length + end.length);
+        System.arraycopy(end, 0, result, data.length, end.length);
+        return result;
+    }
+
+    //region Async
+
+    /**
+     * Send message on {@code Port} and read answer.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send data.
+     * @return answer data. Completed exceptionally with {@link PortException} on {@code Port} connection error.
+     */
+    public @NotNull CompletableFuture<byte @NotNull []> writeReadAsync(byte @NotNull [] data) {
+        return submit(() -> Arrays.copyOf(connection.rec, transact(data, new ReadListener(), null)));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer of a certain length.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send data.
+     * @param size answer length.
+     * @return answer data. Completed exceptionally with {@link PortException} on {@code Port} connection error,
+     *         answer length != {@code size}.
+     */
+    public @NotNull CompletableFuture<byte @NotNull []> writeReadAsync(byte @NotNull [] data, int size) {
+        return submit(() -> Arrays.copyOf(connection.rec, transact(data, new ReadSizeListener(size), null)));
     }
 
     /**
      * Send message on {@code Port} and read answer to {@code b}.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
      * @param data send data.
-     * @param b byte to end answer.
-     * @return answer data.
+     * @param b bytes to end answer.
+     * @return answer data. Completed exceptionally with {@link PortException} on {@code Port} connection error,
+     *         answer don`t contain {@code b}.
+     * @throws PortFormatException {@code b} is [].
+     */
+    public @NotNull CompletableFuture<byte @NotNull []> writeReadAsync(byte @NotNull [] data, byte @NotNull [] b)
+            throws PortFormatException {
+        if (b.length == 0) {
+            throw new PortFormatException(PFEB);
+        }
+        return submit(() -> Arrays.copyOf(connection.rec, transact(data, new ReadToListener(b), null)));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer to the end of frame found by {@code decoder}.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send data.
+     * @param decoder {@link FrameDecoder} of answer.
+     * @return answer data. Completed exceptionally with {@link PortException} on {@code Port} connection error,
+     *         answer is not complete frame.
+     */
+    public @NotNull CompletableFuture<byte @NotNull []> writeReadAsync(byte @NotNull [] data,
+                                                                      @NotNull FrameDecoder decoder) {
+        return submit(() -> Arrays.copyOf(connection.rec, transact(data, new DecoderListener(decoder, null), null)));
+    }
+
+    /**
+     * Send message with {@code getEndLine()} on {@code Port} and read answer to {@code getEndLine()}.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send data.
+     * @return answer data. Completed exceptionally with {@link PortException} on {@code Port} connection error,
+     *         answer don`t contain {@code getEndLine()}.
+     */
+    public @NotNull CompletableFuture<byte @NotNull []> writeReadLineAsync(byte @NotNull [] data) {
+        return writeReadAsync(withEnd(data), getEndBytes());
+    }
+
+    /**
+     * Send message with {@code getEndLine()} on {@code Port} and read answer to {@code getEndLine()}.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send message.
+     * @return answer message. Completed exceptionally with {@link PortException} on {@code Port} connection error,
+     *         answer don`t contain {@code getEndLine()}.
+     */
+    public @NotNull CompletableFuture<@NotNull String> writeReadLineAsync(@NotNull String data) {
+        Charset charset = getCharset();
+        String end = getEndLine();
+        return submit(() -> new String(connection.rec, 0,
+                transact((data + end).getBytes(charset), new ReadToListener(end.getBytes(charset)), charset),
+                charset));
+    }
+
+    /**
+     * Send message on {@code Port}.
+     * <br>Transactions on one connection are executed by its dispatcher thread in order of {@link Priority}
+     * and call.
+     * @param data send data.
+     * @return completed when data is sent. Completed exceptionally with {@link PortException} on {@code Port}
+     *         connection error.
+     */
+    public @NotNull CompletableFuture<Void> writeAsync(byte @NotNull [] data) {
+        return submit(() -> send(data, null));
+    }
+
+    //endregion
+
+    //region ByteBuffer
+
+    /**
+     * Send message on {@code Port} and read answer.
+     * <br>Buffers are not copied: use the same buffers in cyclic survey.
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @param response buffer for answer. Answer is put from position, position is moved to the end of answer.
+     * @return answer length.
+     * @throws PortException {@code Port} connection error. Answer longer than {@code response} remaining.
+     */
+    public int writeRead(@NotNull ByteBuffer request, @NotNull ByteBuffer response) throws PortException {
+        return await(submit(() -> toResponse(response, transact(toSend(request), new ReadListener(), null))));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer of a certain length.
+     * <br>Buffers are not copied: use the same buffers in cyclic survey.
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @param response buffer for answer. Answer is put from position, position is moved to the end of answer.
+     * @param size answer length.
+     * @return answer length.
+     * @throws PortException {@code Port} connection error. Answer length != {@code size}.
+     *                       Answer longer than {@code response} remaining.
+     */
+    public int writeRead(@NotNull ByteBuffer request, @NotNull ByteBuffer response, int size) throws PortException {
+        return await(submit(() -> toResponse(response, transact(toSend(request), new ReadSizeListener(size), null))));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer to {@code b}.
+     * <br>Buffers are not copied: use the same buffers in cyclic survey.
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @param response buffer for answer without {@code b}. Answer is put from position, position is moved to the
+     *                 end of answer.
+     * @param b bytes to end answer.
+     * @return answer length.
      * @throws PortException {@code Port} connection error. Answer don`t contain {@code b}.
+     *                       Answer longer than {@code response} remaining.
      * @throws PortFormatException {@code b} is [].
      */
-    public byte @NotNull [] writeRead(byte @NotNull [] data, byte @NotNull [] b) throws PortException,
-            PortFormatException {
+    public int writeRead(@NotNull ByteBuffer request, @NotNull ByteBuffer response, byte @NotNull [] b)
+            throws PortException, PortFormatException {
         if (b.length == 0) {
             throw new PortFormatException(PFEB);
         }
-        synchronized (serialPort) {
-            ReadToListener listener = new ReadToListener(b);
-            String msg = null;
-            byte[] result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] || listener.timerTick[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(data, listener);
-                if (!listener.send[0]) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(data, listenerConverter(listener.rec, msg == null ? b : null), msg);
-                result = listenerConverter(listener.rec, null);
-            }
-            return result;
+        return await(submit(() -> toResponse(response, transact(toSend(request), new ReadToListener(b), null))));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer to the end of frame found by {@code decoder}.
+     * <br>Buffers are not copied: use the same buffers in cyclic survey.
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @param response buffer for answer. Answer is put from position, position is moved to the end of answer.
+     * @param decoder {@link FrameDecoder} of answer.
+     * @return answer length.
+     * @throws PortException {@code Port} connection error. Answer is not complete frame.
+     *                       Answer longer than {@code response} remaining.
+     */
+    public int writeRead(@NotNull ByteBuffer request, @NotNull ByteBuffer response, @NotNull FrameDecoder decoder)
+            throws PortException {
+        return await(submit(() ->
+                toResponse(response, transact(toSend(request), new DecoderListener(decoder, null), null))));
+    }
+
+    /**
+     * Send message on {@code Port}.
+     * @param request send data (from position to limit). Position is moved to limit.
+     * @throws PortException {@code Port} connection error.
+     */
+    public void write(@NotNull ByteBuffer request) throws PortException {
+        await(submit(() -> send(toSend(request), null)));
+    }
+
+    /**
+     * Read message from {@code Port}.
+     * @param response buffer for message. Message is put from position, position is moved to the end of message.
+     * @return message length.
+     * @throws PortException {@code Port} connection error. Message longer than {@code response} remaining.
+     */
+    public int read(@NotNull ByteBuffer response) throws PortException {
+        return await(submit(() -> toResponse(response, transact(null, new ReadListener(), null))));
+    }
+
+    /**
+     * Read message of a certain length from {@code Port}.
+     * @param response buffer for message. Message is put from position, position is moved to the end of message.
+     * @param size message length.
+     * @return message length.
+     * @throws PortException {@code Port} connection error. Message length != {@code size}.
+     *                       Message longer than {@code response} remaining.
+     */
+    public int read(@NotNull ByteBuffer response, int size) throws PortException {
+        return await(submit(() -> toResponse(response, transact(null, new ReadSizeListener(size), null))));
+    }
+
+    /**
+     * Read message to {@code b} from {@code Port}.
+     * @param response buffer for message without {@code b}. Message is put from position, position is moved to the
+     *                 end of message.
+     * @param b bytes to end message.
+     * @return message length.
+     * @throws PortException {@code Port} connection error. Message don`t contain {@code b}.
+     *                       Message longer than {@code response} remaining.
+     * @throws PortFormatException {@code b} is [].
+     */
+    public int read(@NotNull ByteBuffer response, byte @NotNull [] b) throws PortException, PortFormatException {
+        if (b.length == 0) {
+            throw new PortFormatException(PFEB);
         }
+        return await(submit(() -> toResponse(response, transact(null, new ReadToListener(b), null))));
+    }
+
+    //endregion
+
+    /**
+     * Send message on {@code Port} and read answer.
+     * @param data send data.
+     * @return answer data.
+     * @throws PortException {@code Port} connection error.
+     */
+    public byte @NotNull [] writeRead(byte @NotNull [] data) throws PortException {
+        return await(writeReadAsync(data));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer.
+     * @param data send message.
+     * @return answer message.
+     * @throws PortException {@code Port} connection error.
+     */
+    public @NotNull String writeRead(@NotNull String data) throws PortException {
+        return await(submit(() -> new String(connection.rec, 0,
+                transact(data.getBytes(charset), new ReadListener(), charset), charset)));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer of a certain length.
+     * @param data send data.
+     * @param size answer length.
+     * @return answer data.
+     * @throws PortException {@code Port} connection error. Answer length != {@code size}.
+     */
+    public byte @NotNull [] writeRead(byte @NotNull [] data, int size) throws PortException {
+        return await(writeReadAsync(data, size));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer of a certain length.
+     * @param data send message.
+     * @param size answer length.
+     * @return answer message.
+     * @throws PortException {@code Port} connection error. Answer length != {@code size}.
+     */
+    public @NotNull String writeRead(@NotNull String data, int size) throws PortException {
+        return await(submit(() -> new String(connection.rec, 0,
+                transact(data.getBytes(charset), new ReadSizeListener(size), charset), charset)));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer to {@code b}.
+     * @param data send data.
+     * @param b byte to end answer.
+     * @return answer data.
+     * @throws PortException {@code Port} connection error. Answer don`t contain {@code b}.
+     * @throws PortFormatException {@code b} is [].
+     */
+    public byte @NotNull [] writeRead(byte @NotNull [] data, byte @NotNull [] b) throws PortException,
+            PortFormatException {
+        return await(writeReadAsync(data, b));
+    }
+
+    /**
+     * Send message on {@code Port} and read answer to the end of frame found by {@code decoder}.
+     * <br>Transaction ends when the last byte of frame is received, without waiting for silence.
+     * @param data send data.
+     * @param decoder {@link FrameDecoder} of answer.
+     * @return answer data.
+     * @throws PortException {@code Port} connection error. Answer is not complete frame.
+     */
+    public byte @NotNull [] writeRead(byte @NotNull [] data, @NotNull FrameDecoder decoder) throws PortException {
+        return await(writeReadAsync(data, decoder));
     }
 
     /**
@@ -740,32 +1717,8 @@ public class Port implements ByteConvertedObject {
         if (c.isEmpty()) {
             throw new PortFormatException(PFES);
         }
-        synchronized (serialPort) {
-            ReadToListener listener = new ReadToListener(c.getBytes(charset));
-            String msg = null;
-            String result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] || listener.timerTick[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(data.getBytes(charset), listener);
-                if (!listener.send[0]) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                result = new String(listenerConverter(listener.rec, null));
-                sendLog(data, msg == null ? result + c : result, msg);
-            }
-            return result;
-        }
+        return await(submit(() -> new String(connection.rec, 0,
+                transact(data.getBytes(charset), new ReadToListener(c.getBytes(charset)), charset), charset)));
     }
 
     /**
@@ -775,12 +1728,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error. Answer don`t contain {@code getEndLine()}.
      */
     public byte @NotNull [] writeReadLine(byte @NotNull [] data) throws PortException {
-        synchronized (serialPort) {
-            byte[] send = new byte[data.length + getEndBytes().length];
-            System.arraycopy(data, 0, send, 0, data.length);
-            System.arraycopy(getEndBytes(), 0, send, data.length, getEndBytes().length);
-            return writeRead(send, getEndBytes());
-        }
+        return await(writeReadLineAsync(data));
     }
 
     /**
@@ -790,9 +1738,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error. Answer don`t contain {@code getEndLine()}.
      */
     public @NotNull String writeReadLine(@NotNull String data) throws PortException {
-        synchronized (serialPort) {
-            return writeRead(data + endLine, endLine);
-        }
+        return await(writeReadLineAsync(data));
     }
 
     /**
@@ -801,22 +1747,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public void write(byte @NotNull [] data) throws PortException {
-        synchronized (serialPort) {
-            String msg = null;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return true;
-                    }
-                }.run(data, null);
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(data, null, msg);
-            }
-        }
+        await(writeAsync(data));
     }
 
     /**
@@ -825,22 +1756,8 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public void write(@NotNull String data) throws PortException {
-        synchronized (serialPort) {
-            String msg = null;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return true;
-                    }
-                }.run(data.getBytes(), null);
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(data, null, msg);
-            }
-        }
+        Charset charset = getCharset();
+        await(submit(() -> send(data.getBytes(charset), charset)));
     }
 
     /**
@@ -849,12 +1766,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public void writeLine(byte @NotNull [] data) throws PortException {
-        synchronized (serialPort) {
-            byte[] result = new byte[data.length + getEndBytes().length];
-            System.arraycopy(data, 0, result, 0, data.length);
-            System.arraycopy(getEndBytes(), 0, result, data.length, getEndBytes().length);
-            write(result);
-        }
+        await(writeAsync(withEnd(data)));
     }
 
     /**
@@ -863,9 +1775,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public void writeLine(@NotNull String data) throws PortException {
-        synchronized (serialPort) {
-            write(data + endLine);
-        }
+        write(data + getEndLine());
     }
 
     /**
@@ -874,31 +1784,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public byte @NotNull [] read() throws PortException {
-        synchronized (serialPort) {
-            ReadListener listener = new ReadListener();
-            String msg = null;
-            byte[] result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-            } catch (Exception e) {
-                if (listener.rec.isEmpty()) {
-                    msg = e.getMessage();
-                    throw e;
-                }
-            } finally {
-                result = listenerConverter(listener.rec, null);
-                sendLog(null, result, msg);
-            }
-            return result;
-        }
+        return await(submit(() -> Arrays.copyOf(connection.rec, transact(null, new ReadListener(), null))));
     }
 
     /**
@@ -908,29 +1794,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error. Message length != {@code size}.
      */
     public byte @NotNull [] read(int size) throws PortException {
-        synchronized (serialPort) {
-            ReadSizeListener listener = new ReadSizeListener(size);
-            String msg = null;
-            try {
-                new SendRec() {
-                    public boolean checkEndRead() {
-                        return listener.timerTick[0] || listener.bytesRead[0] == size ||
-                                (listener.bytesRead[0] > 0 &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-                if (listener.bytesRead[0] != size) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(null, listener.buffer, msg);
-            }
-            return listener.buffer;
-        }
+        return await(submit(() -> Arrays.copyOf(connection.rec, transact(null, new ReadSizeListener(size), null))));
     }
 
     /**
@@ -944,32 +1808,18 @@ public class Port implements ByteConvertedObject {
         if (b.length == 0) {
             throw new PortFormatException(PFEB);
         }
-        synchronized (serialPort) {
-            ReadToListener listener = new ReadToListener(b);
-            String msg = null;
-            byte[] result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] || listener.timerTick[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-                if (!listener.send[0]) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(null, listenerConverter(listener.rec, msg == null ? b : null), msg);
-                result = listenerConverter(listener.rec, null);
-            }
-            return result;
-        }
+        return await(submit(() -> Arrays.copyOf(connection.rec, transact(null, new ReadToListener(b), null))));
+    }
+
+    /**
+     * Read message to the end of frame found by {@code decoder} from {@code Port}.
+     * @param decoder {@link FrameDecoder} of message.
+     * @return data.
+     * @throws PortException {@code Port} connection error. Message is not complete frame.
+     */
+    public byte @NotNull [] read(@NotNull FrameDecoder decoder) throws PortException {
+        return await(submit(() -> Arrays.copyOf(connection.rec, transact(null, new DecoderListener(decoder, null),
+                null))));
     }
 
     /**
@@ -978,9 +1828,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error. Message don`t contain {@code getEndLine()}.
      */
     public byte @NotNull [] readLine() throws PortException {
-        synchronized (serialPort) {
-            return read(getEndBytes());
-        }
+        return read(getEndBytes());
     }
 
     /**
@@ -989,31 +1837,7 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error.
      */
     public @NotNull String readString() throws PortException {
-        synchronized (serialPort) {
-            ReadListener listener = new ReadListener();
-            String msg = null;
-            String result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-            } catch (Exception e) {
-                if (listener.rec.isEmpty()) {
-                    msg = e.getMessage();
-                    throw e;
-                }
-            } finally {
-                result = new String(listenerConverter(listener.rec, null));
-                sendLog(null, result, msg);
-            }
-            return result;
-        }
+        return await(submit(() -> new String(connection.rec, 0, transact(null, new ReadListener(), charset), charset)));
     }
 
     /**
@@ -1023,29 +1847,8 @@ public class Port implements ByteConvertedObject {
      * @throws PortException {@code Port} connection error. Message length != {@code size}.
      */
     public @NotNull String readString(int size) throws PortException {
-        synchronized (serialPort) {
-            ReadSizeListener listener = new ReadSizeListener(size);
-            String msg = null;
-            try {
-                new SendRec() {
-                    public boolean checkEndRead() {
-                        return listener.timerTick[0] || listener.bytesRead[0] == size ||
-                                (listener.bytesRead[0] > 0 &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-                if (listener.bytesRead[0] != size) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                sendLog(null, new String(listener.buffer), msg);
-            }
-            return new String (listener.buffer);
-        }
+        return await(submit(() -> new String(connection.rec, 0,
+                transact(null, new ReadSizeListener(size), charset), charset)));
     }
 
     /**
@@ -1059,32 +1862,8 @@ public class Port implements ByteConvertedObject {
         if (c.isEmpty()) {
             throw new PortFormatException(PFES);
         }
-        synchronized (serialPort) {
-            ReadToListener listener = new ReadToListener(c.getBytes(charset));
-            String msg = null;
-            String result;
-            try {
-                new SendRec() {
-                    @Override
-                    public boolean checkEndRead() {
-                        return listener.send[0] || listener.timerTick[0] ||
-                                (!listener.rec.isEmpty() &&
-                                        listener.timer[0] + (baudRate.nanosecondsPerByte() / TICK_CONVERTER + 1) <
-                                                System.currentTimeMillis());
-                    }
-                }.run(null, listener);
-                if (!listener.send[0]) {
-                    throw new PortException("Port %s read failed".formatted(serialPort.getPortName()));
-                }
-            } catch (Exception e) {
-                msg = e.getMessage();
-                throw e;
-            } finally {
-                result = new String(listenerConverter(listener.rec, null));
-                sendLog(null, msg == null ? result + c : result, msg);
-            }
-            return result;
-        }
+        return await(submit(() -> new String(connection.rec, 0,
+                transact(null, new ReadToListener(c.getBytes(charset)), charset), charset)));
     }
 
     /**
@@ -1108,7 +1887,7 @@ public class Port implements ByteConvertedObject {
     public boolean equals(@Nullable Object obj) {
         if (obj == null) return false;
         if (obj instanceof Port) {
-            return serialPort.getPortName().equals(((Port) obj).serialPort.getPortName()) &&
+            return transport.getName().equals(((Port) obj).transport.getName()) &&
                     baudRate.equals(((Port) obj).baudRate) &&
                     parity.equals(((Port) obj).parity) &&
                     dataBits.equals(((Port) obj).dataBits) &&
@@ -1138,8 +1917,8 @@ public class Port implements ByteConvertedObject {
      */
     @Override
     public @NotNull String toString() {
-        synchronized (serialPort) {
-            String result = "NAME=" + serialPort.getPortName();
+        synchronized (connection) {
+            String result = "NAME=" + transport.getName();
             if (!baudRate.equals(baseBaudRate)) {
                 result += "\nBAUDRATE=" + baudRate;
             }
@@ -1202,12 +1981,12 @@ public class Port implements ByteConvertedObject {
      */
     @Override
     public byte @NotNull [] toBytes() {
-        synchronized (serialPort) {
+        synchronized (connection) {
             ArrayList<byte @NotNull []> list = new ArrayList<>();
             //количество байт в имени порта
-            list.add(ByteBuffer.allocate(4).putInt(serialPort.getPortName().getBytes().length).array());
+            list.add(ByteBuffer.allocate(4).putInt(transport.getName().getBytes().length).array());
             //имя порта
-            list.add(serialPort.getPortName().getBytes());
+            list.add(transport.getName().getBytes());
             //baudRate
             list.add(this.baudRate.toBytes());
             //parity
@@ -1460,7 +2239,8 @@ public class Port implements ByteConvertedObject {
 
     @Override
     public Port clone() {
-        Port clone = new Port(serialPort);
+        Port clone = new Port(released ? connection : retain(connection));
+        clone.released = released;
         clone.setBaudRate(baudRate);
         clone.setParity(parity);
         clone.setDataBits(dataBits);
@@ -0,0 +1,137 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntSupplier;
+
+/**
+ * Cache of read on demand of device.
+ * <br>Answer is reused while it is younger than max age. Threads calling {@code get()} while reading join it and
+ * receive its result, so all channels of device are read by one transaction.
+ * @param <T> format of answer.
+ */
+public final class ReadCache<T> {
+
+    /**
+     * Read of device.
+     * @param <T> format of answer.
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        /**
+         * Read answer from device.
+         * @return decoded answer.
+         * @throws PortException read failed.
+         */
+        @NotNull T read() throws PortException;
+    }
+
+    private final @NotNull Reader<T> reader;
+    private final @NotNull IntSupplier maxAge;
+
+    private T value = null;
+
+    /**
+     * Time ({@link System#nanoTime()}) of the end of read of {@code value}.
+     */
+    private long time = 0;
+
+    /**
+     * Result of read being executed. Null if nothing is read.
+     */
+    private CompletableFuture<T> flight = null;
+
+    /**
+     * Number of {@code invalidate()}: answer of read started before it is not cached.
+     */
+    private long generation = 0;
+
+    /**
+     * @param reader read of device.
+     * @param maxAge max age (milliseconds) of answer. If 0 then only the read being executed is joined.
+     */
+    public ReadCache(@NotNull Reader<T> reader, @NotNull IntSupplier maxAge) {
+        this.reader = reader;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Return cached answer or read it.
+     * @return answer.
+     * @throws PortException read failed.
+     */
+    public @NotNull T get() throws PortException {
+        CompletableFuture<T> future;
+        boolean owner = false;
+        long g;
+        long age = maxAge.getAsInt() * 1_000_000L;
+        synchronized (this) {
+            if (value != null && System.nanoTime() - time <= age) {
+                return value;
+            }
+            if (flight == null) {
+                flight = new CompletableFuture<>();
+                owner = true;
+            }
+            future = flight;
+            g = generation;
+        }
+        if (owner) {
+            try {
+                T result = reader.read();
+                synchronized (this) {
+                    //устройство могло измениться во время чтения
+                    if (g == generation) {
+                        value = result;
+                        time = System.nanoTime();
+                    }
+                    if (flight == future) {
+                        flight = null;
+                    }
+                }
+                future.complete(result);
+                return result;
+            } catch (Throwable e) {
+                //ожидающие потоки не должны остаться без ответа при любой ошибке
+                synchronized (this) {
+                    if (flight == future) {
+                        flight = null;
+                    }
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PortException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new PortException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PortException("read failed (Interrupted)");
+        }
+    }
+
+    /**
+     * Drop cached answer: the next {@code get()} reads device. Answer of read being executed is not cached and
+     * is not shared with the next {@code get()}.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            value = null;
+            flight = null;
+            generation++;
+        }
+    }
+}
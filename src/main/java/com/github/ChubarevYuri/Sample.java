@@ -0,0 +1,11 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Value of input with its time.
+ * @param time time of change ({@link System#currentTimeMillis()}).
+ * @param value value.
+ * @param <T> format.
+ */
+public record Sample<T>(long time, @NotNull T value) { }
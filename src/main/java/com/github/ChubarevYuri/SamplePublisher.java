@@ -0,0 +1,198 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Flow.Publisher} of {@link Event} parameters as {@link Sample}.
+ * <br>Every subscriber has its own buffer of {@code capacity} samples. Samples are taken from the raising
+ * thread without waiting: when buffer is full {@link Overflow} decides which sample is dropped, so a slow
+ * subscriber does not stop the survey.
+ * <br>Subscribers are called in threads of publishers: one drain task per subscriber, a blocked subscriber holds
+ * only its own thread and never delays the raising thread or other subscribers.
+ * <br>Returned by {@link In#publisher(int, Overflow)}.
+ * @param <T> format.
+ */
+public class SamplePublisher<T> implements Flow.Publisher<Sample<T>> {
+
+    /**
+     * Action when buffer of subscriber is full.
+     */
+    public enum Overflow {
+        /**
+         * Drop the oldest sample in buffer.
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the new sample.
+         */
+        DROP_NEWEST,
+        /**
+         * Keep only the new sample: buffer is replaced by it.
+         */
+        LATEST
+    }
+
+    /**
+     * Threads are created on demand: at most one drain task of every subscriber is executed or waits.
+     */
+    private static final Executor executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "SamplePublisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final @NotNull Event<T> source;
+    private final int capacity;
+    private final @NotNull Overflow overflow;
+
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final Event.Listener<T> listener = this::offer;
+
+    /**
+     * @param source {@link Event} of values.
+     * @param capacity size of buffer of subscriber. If less than 1 then 1.
+     * @param overflow action when buffer of subscriber is full.
+     */
+    public SamplePublisher(@NotNull Event<T> source, int capacity, @NotNull Overflow overflow) {
+        this.source = source;
+        this.capacity = Math.max(capacity, 1);
+        this.overflow = overflow;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Sample<T>> subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        synchronized (this) {
+            if (subscription.cancelled) {
+                return;
+            }
+            subscriptions.add(subscription);
+            //источник подключается только при наличии подписчиков
+            if (subscriptions.size() == 1) {
+                source.add(listener);
+            }
+        }
+    }
+
+    private void offer(T value) {
+        if (value == null) {
+            return;
+        }
+        Sample<T> sample = new Sample<>(System.currentTimeMillis(), value);
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(sample);
+        }
+    }
+
+    private void remove(@NotNull Subscription subscription) {
+        synchronized (this) {
+            if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+                source.remove(listener);
+            }
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Sample<T>> subscriber;
+        private final ArrayDeque<Sample<T>> buffer = new ArrayDeque<>();
+        private long demand = 0;
+        private volatile boolean cancelled = false;
+
+        /**
+         * Error signaled to subscriber by {@code drain()}.
+         */
+        private volatile @Nullable Throwable error = null;
+
+        /**
+         * Count of requests of drain: only one thread calls subscriber.
+         */
+        private final AtomicInteger work = new AtomicInteger();
+
+        private Subscription(Flow.Subscriber<? super Sample<T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void offer(@NotNull Sample<T> sample) {
+            synchronized (this) {
+                if (buffer.size() >= capacity || overflow == Overflow.LATEST) {
+                    switch (overflow) {
+                        case DROP_OLDEST -> buffer.pollFirst();
+                        case DROP_NEWEST -> {
+                            return;
+                        }
+                        case LATEST -> buffer.clear();
+                    }
+                }
+                buffer.addLast(sample);
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                //сигналы подписчику передаются только из drain, не параллельно onNext
+                error = new IllegalArgumentException("request must be positive");
+                schedule();
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            remove(this);
+            synchronized (this) {
+                buffer.clear();
+            }
+        }
+
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Throwable failure = error;
+                if (failure != null && !cancelled) {
+                    cancel();
+                    subscriber.onError(failure);
+                }
+                while (!cancelled && error == null) {
+                    Sample<T> sample;
+                    synchronized (this) {
+                        if (demand == 0 || buffer.isEmpty()) {
+                            break;
+                        }
+                        sample = buffer.pollFirst();
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                    }
+                    try {
+                        subscriber.onNext(sample);
+                    } catch (Throwable e) {
+                        cancel();
+                        subscriber.onError(e);
+                    }
+                }
+            } while (work.decrementAndGet() != 0);
+        }
+    }
+}
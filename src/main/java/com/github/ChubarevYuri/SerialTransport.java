@@ -0,0 +1,120 @@
+package com.github.ChubarevYuri;
+
+import jssc.SerialPort;
+import jssc.SerialPortEvent;
+import jssc.SerialPortEventListener;
+import jssc.SerialPortException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * {@link Transport} on serial port (jssc).
+ */
+public class SerialTransport implements Transport, SerialPortEventListener {
+
+    private final @NotNull SerialPort serialPort;
+
+    private volatile @Nullable Listener listener = null;
+
+    /**
+     * @param portName serial port name.
+     */
+    public SerialTransport(@NotNull String portName) {
+        this.serialPort = new SerialPort(portName);
+    }
+
+    /**
+     * Return used {@link SerialPort}.
+     * @return used {@link SerialPort}.
+     */
+    public @NotNull SerialPort getSerialPort() {
+        return serialPort;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return serialPort.getPortName();
+    }
+
+    @Override
+    public boolean isOpened() {
+        return serialPort.isOpened();
+    }
+
+    @Override
+    public void open() throws PortException {
+        try {
+            if (!serialPort.isOpened() && !serialPort.openPort()) {
+                throw new PortException("Port %s open failed".formatted(getName()));
+            }
+        } catch (SerialPortException e) {
+            throw new PortException("Port %s open failed".formatted(getName()));
+        }
+        try {
+            serialPort.addEventListener(this);
+        } catch (SerialPortException e) {
+            close();
+            throw new PortException("Port %s addEventListener failed".formatted(getName()));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serialPort.removeEventListener();
+        } catch (Exception ignored) {}
+        try {
+            serialPort.closePort();
+        } catch (Exception ignored) {}
+    }
+
+    @Override
+    public void setParams(@NotNull BaudRate baudRate,
+                          @NotNull DataBits dataBits,
+                          @NotNull StopBits stopBits,
+                          @NotNull Parity parity,
+                          @NotNull FlowControl flowControl) throws PortException {
+        try {
+            serialPort.setFlowControlMode(flowControl.intValue());
+            serialPort.setParams(baudRate.intValue(), dataBits.intValue(), stopBits.intValue(), parity.intValue());
+        } catch (SerialPortException e) {
+            throw new PortException("Port %s setParams failed".formatted(getName()));
+        }
+    }
+
+    @Override
+    public void write(byte @NotNull [] data, int offset, int length) throws PortException {
+        try {
+            serialPort.writeBytes(offset == 0 && length == data.length
+                    ? data
+                    : Arrays.copyOfRange(data, offset, offset + length));
+        } catch (SerialPortException e) {
+            throw new PortException("Port %s write failed".formatted(getName()));
+        }
+    }
+
+    @Override
+    public void purge() {
+        try {
+            serialPort.readBytes();
+        } catch (SerialPortException ignored) {}
+    }
+
+    @Override
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void serialEvent(SerialPortEvent serialPortEvent) {
+        try {
+            byte[] s = serialPort.readBytes();
+            Listener l = listener;
+            if (s != null && s.length > 0 && l != null) {
+                l.onReceive(s, 0, s.length);
+            }
+        } catch (Exception ignored) {}
+    }
+}
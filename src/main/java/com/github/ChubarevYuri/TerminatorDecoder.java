@@ -0,0 +1,74 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link FrameDecoder} of frame ending with terminator bytes (for example "\r" of DCON).
+ * <br>Every received byte is checked once.
+ */
+public class TerminatorDecoder implements FrameDecoder {
+
+    private final byte @NotNull [] end;
+
+    /**
+     * Prefix function of {@code end}: length of the longest proper prefix which is also a suffix.
+     */
+    private final int @NotNull [] prefix;
+
+    /**
+     * Count of {@code end} bytes matched by the last received bytes.
+     */
+    private int matched = 0;
+
+    /**
+     * @param end terminator bytes.
+     * @throws PortFormatException {@code end} is [].
+     */
+    public TerminatorDecoder(byte @NotNull [] end) {
+        if (end.length == 0) {
+            throw new PortFormatException("endBytes cannot be []");
+        }
+        this.end = end.clone();
+        prefix = new int[end.length];
+        for (int i = 1, k = 0; i < end.length; i++) {
+            while (k > 0 && end[i] != end[k]) {
+                k = prefix[k - 1];
+            }
+            if (end[i] == end[k]) {
+                k++;
+            }
+            prefix[i] = k;
+        }
+    }
+
+    /**
+     * Return terminator bytes.
+     * @return copy of terminator bytes.
+     */
+    public byte @NotNull [] getEnd() {
+        return end.clone();
+    }
+
+    @Override
+    public int decode(byte @NotNull [] frame, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte c = frame[i];
+            while (matched > 0 && c != end[matched]) {
+                matched = prefix[matched - 1];
+            }
+            if (c == end[matched]) {
+                matched++;
+            }
+            if (matched == end.length) {
+                matched = 0;
+                return i + 1;
+            }
+        }
+        return NEED_MORE;
+    }
+
+    @Override
+    public void reset() {
+        matched = 0;
+    }
+}
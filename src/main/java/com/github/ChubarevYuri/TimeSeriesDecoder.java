@@ -0,0 +1,141 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decoder of block of {@link TimeSeriesEncoder}.
+ * <pre>{@code
+ * TimeSeriesDecoder decoder = new TimeSeriesDecoder(block);
+ * while (decoder.next()) {
+ *     use(decoder.getTime(), decoder.getValue());
+ * }
+ * }</pre>
+ */
+public class TimeSeriesDecoder {
+
+    private final byte @NotNull [] block;
+    private final int count;
+
+    /**
+     * Count of read bits of stream.
+     */
+    private long bits = 0;
+    private int index = 0;
+
+    private long time = 0;
+    private long delta = 0;
+    private long value = 0;
+    private int leading = 0;
+    private int trailing = 0;
+
+    /**
+     * @param block block of {@link TimeSeriesEncoder}. Not copied.
+     * @throws IllegalArgumentException block is shorter than header.
+     */
+    public TimeSeriesDecoder(byte @NotNull [] block) {
+        if (block.length < 4) {
+            throw new IllegalArgumentException("block is shorter than header");
+        }
+        this.block = block;
+        count = (block[0] & 0xFF) << 24 | (block[1] & 0xFF) << 16 | (block[2] & 0xFF) << 8 | (block[3] & 0xFF);
+    }
+
+    /**
+     * Return count of samples in block.
+     * @return count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Read the next sample.
+     * @return false if all samples are read.
+     * @throws IllegalArgumentException block is damaged.
+     */
+    public boolean next() {
+        if (index == count) {
+            return false;
+        }
+        if (index == 0) {
+            time = read(64);
+            value = read(64);
+        } else {
+            delta += readTime();
+            time += delta;
+            value ^= readValue();
+        }
+        index++;
+        return true;
+    }
+
+    /**
+     * Return time of the read sample.
+     * @return time.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Return value of the read sample.
+     * @return value.
+     */
+    public double getValue() {
+        return Double.longBitsToDouble(value);
+    }
+
+    private long readTime() {
+        if (read(1) == 0) {
+            return 0;
+        }
+        if (read(1) == 0) {
+            return signed(read(7), 7);
+        }
+        if (read(1) == 0) {
+            return signed(read(9), 9);
+        }
+        if (read(1) == 0) {
+            return signed(read(12), 12);
+        }
+        return read(64);
+    }
+
+    private long readValue() {
+        if (read(1) == 0) {
+            return 0;
+        }
+        if (read(1) == 1) {
+            leading = (int) read(6);
+            int meaningful = (int) read(6) + 1;
+            trailing = 64 - leading - meaningful;
+        }
+        return read(64 - leading - trailing) << trailing;
+    }
+
+    /**
+     * Value in range [-2^(length-1)+1..2^(length-1)] from the lowest {@code length} bits.
+     */
+    private static long signed(long v, int length) {
+        return v > 1L << (length - 1) ? v - (1L << length) : v;
+    }
+
+    /**
+     * Read {@code length} bits, from high to low.
+     */
+    private long read(int length) {
+        if (bits + length > (long) (block.length - 4) * 8) {
+            throw new IllegalArgumentException("block is damaged");
+        }
+        long result = 0;
+        for (int i = 0; i < length; ) {
+            int b = block[4 + (int) (bits >>> 3)] & 0xFF;
+            int offset = (int) (bits & 7);
+            int take = Math.min(8 - offset, length - i);
+            result = result << take | (b >>> (8 - offset - take)) & ((1 << take) - 1);
+            bits += take;
+            i += take;
+        }
+        return result;
+    }
+}
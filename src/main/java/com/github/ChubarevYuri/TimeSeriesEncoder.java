@@ -0,0 +1,176 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Encoder of samples of channel to compressed block (Gorilla format).
+ * <br>Time is stored as delta of delta: regular samples take 1 bit. Value is stored as XOR with the previous
+ * value: unchanged value takes 1 bit, slow change takes only its changed bits.
+ * <br>Block is read by {@link TimeSeriesDecoder}.
+ * <br>Block format: count of samples (4 bytes, big-endian), then bit stream:
+ * <ul>
+ *     <li>first sample: time (64 bits), value (64 bits);</li>
+ *     <li>time: delta of delta {@code d}: {@code 0} if 0, {@code 10} + 7 bits if in [-63..64],
+ *     {@code 110} + 9 bits if in [-255..256], {@code 1110} + 12 bits if in [-2047..2048],
+ *     else {@code 1111} + 64 bits;</li>
+ *     <li>value: XOR {@code x} with the previous value: {@code 0} if 0, {@code 10} + meaningful bits if they are
+ *     inside meaningful bits of the previous XOR, else {@code 11} + count of leading zeros (6 bits) +
+ *     count of meaningful bits - 1 (6 bits) + meaningful bits.</li>
+ * </ul>
+ */
+public class TimeSeriesEncoder {
+
+    private long @NotNull [] words = new long[16];
+
+    /**
+     * Count of written bits.
+     */
+    private long bits = 0;
+    private int count = 0;
+
+    private long time = 0;
+    private long delta = 0;
+    private long value = 0;
+    private int leading = Integer.MAX_VALUE;
+    private int trailing = 0;
+
+    /**
+     * Add sample.
+     * @param time time of sample. Must not decrease.
+     * @param value value.
+     */
+    public void add(long time, double value) {
+        long v = Double.doubleToRawLongBits(value);
+        synchronized (this) {
+            if (count == 0) {
+                write(time, 64);
+                write(v, 64);
+            } else {
+                long delta = time - this.time;
+                writeTime(delta - this.delta);
+                this.delta = delta;
+                writeValue(v ^ this.value);
+            }
+            this.time = time;
+            this.value = v;
+            count++;
+        }
+    }
+
+    private void writeTime(long d) {
+        if (d == 0) {
+            write(0, 1);
+        } else if (d >= -63 && d <= 64) {
+            write(0b10, 2);
+            write(d, 7);
+        } else if (d >= -255 && d <= 256) {
+            write(0b110, 3);
+            write(d, 9);
+        } else if (d >= -2047 && d <= 2048) {
+            write(0b1110, 4);
+            write(d, 12);
+        } else {
+            write(0b1111, 4);
+            write(d, 64);
+        }
+    }
+
+    private void writeValue(long x) {
+        if (x == 0) {
+            write(0, 1);
+            return;
+        }
+        int leading = Long.numberOfLeadingZeros(x);
+        int trailing = Long.numberOfTrailingZeros(x);
+        if (leading >= this.leading && trailing >= this.trailing) {
+            write(0b10, 2);
+            write(x >>> this.trailing, 64 - this.leading - this.trailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            write(0b11, 2);
+            write(leading, 6);
+            write(meaningful - 1, 6);
+            write(x >>> trailing, meaningful);
+            this.leading = leading;
+            this.trailing = trailing;
+        }
+    }
+
+    /**
+     * Write the lowest {@code length} bits of {@code v}, from high to low.
+     */
+    private void write(long v, int length) {
+        if (bits + length > (long) words.length * 64) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (length < 64) {
+            v &= (1L << length) - 1;
+        }
+        int index = (int) (bits >>> 6);
+        int free = 64 - (int) (bits & 63);
+        if (length <= free) {
+            words[index] |= v << (free - length);
+        } else {
+            words[index] |= v >>> (length - free);
+            words[index + 1] |= v << (64 - length + free);
+        }
+        bits += length;
+    }
+
+    /**
+     * Return count of samples.
+     * @return count.
+     */
+    public int size() {
+        synchronized (this) {
+            return count;
+        }
+    }
+
+    /**
+     * Return size of block.
+     * @return bytes.
+     */
+    public int sizeBytes() {
+        synchronized (this) {
+            return 4 + (int) ((bits + 7) >>> 3);
+        }
+    }
+
+    /**
+     * Return block with all added samples. Encoder can continue adding.
+     * @return block for {@link TimeSeriesDecoder}.
+     */
+    public byte @NotNull [] toByteArray() {
+        synchronized (this) {
+            byte[] result = new byte[4 + (int) ((bits + 7) >>> 3)];
+            result[0] = (byte) (count >>> 24);
+            result[1] = (byte) (count >>> 16);
+            result[2] = (byte) (count >>> 8);
+            result[3] = (byte) count;
+            for (int i = 4; i < result.length; i++) {
+                int b = i - 4;
+                result[i] = (byte) (words[b >>> 3] >>> (56 - (b & 7) * 8));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Remove all samples: the next sample starts a new block.
+     */
+    public void reset() {
+        synchronized (this) {
+            Arrays.fill(words, 0);
+            bits = 0;
+            count = 0;
+            time = 0;
+            delta = 0;
+            value = 0;
+            leading = Integer.MAX_VALUE;
+            trailing = 0;
+        }
+    }
+}
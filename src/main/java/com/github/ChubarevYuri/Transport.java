@@ -0,0 +1,82 @@
+package com.github.ChubarevYuri;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Physical connection used by {@link Port}.
+ * <br>{@link SerialTransport} is used by default, {@link LoopbackTransport} works without hardware.
+ */
+public interface Transport {
+
+    /**
+     * Executed when data is received.
+     */
+    interface Listener {
+        /**
+         * Executed when data is received.
+         * @param data received data.
+         * @param offset index of first received byte in {@code data}.
+         * @param length count of received bytes.
+         */
+        void onReceive(byte @NotNull [] data, int offset, int length);
+    }
+
+    /**
+     * Return name of connection.
+     * @return name of connection.
+     */
+    @NotNull String getName();
+
+    /**
+     * Return connection is opened.
+     * @return true if connection is opened.
+     */
+    boolean isOpened();
+
+    /**
+     * Open connection.
+     * @throws PortException open failed.
+     */
+    void open() throws PortException;
+
+    /**
+     * Close connection.
+     */
+    void close();
+
+    /**
+     * Set parameters of opened connection.
+     * @param baudRate {@link BaudRate}.
+     * @param dataBits {@link DataBits}.
+     * @param stopBits {@link StopBits}.
+     * @param parity {@link Parity}.
+     * @param flowControl {@link FlowControl}.
+     * @throws PortException setParams failed.
+     */
+    void setParams(@NotNull BaudRate baudRate,
+                   @NotNull DataBits dataBits,
+                   @NotNull StopBits stopBits,
+                   @NotNull Parity parity,
+                   @NotNull FlowControl flowControl) throws PortException;
+
+    /**
+     * Send data.
+     * @param data send data.
+     * @param offset index of first send byte in {@code data}.
+     * @param length count of send bytes.
+     * @throws PortException write failed.
+     */
+    void write(byte @NotNull [] data, int offset, int length) throws PortException;
+
+    /**
+     * Discard received data which was not passed to {@code Listener}.
+     */
+    void purge();
+
+    /**
+     * Set {@code Listener} of received data.
+     * @param listener {@code Listener}. If null received data is discarded.
+     */
+    void setListener(@Nullable Listener listener);
+}
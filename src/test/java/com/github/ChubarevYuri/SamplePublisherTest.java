@@ -0,0 +1,111 @@
+package com.github.ChubarevYuri;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplePublisherTest {
+
+    /**
+     * Subscriber requesting all samples.
+     */
+    private static class Subscriber implements Flow.Subscriber<Sample<Integer>> {
+        private final CountDownLatch release;
+        final CountDownLatch received;
+        final AtomicInteger last = new AtomicInteger(-1);
+        volatile Thread thread;
+
+        /**
+         * @param release latch awaited by every {@code onNext}. If null then {@code onNext} does not block.
+         * @param received count of samples to wait.
+         */
+        Subscriber(CountDownLatch release, int received) {
+            this.release = release;
+            this.received = new CountDownLatch(received);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Sample<Integer> item) {
+            thread = Thread.currentThread();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            last.set(item.value());
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) { }
+
+        @Override
+        public void onComplete() { }
+    }
+
+    @Test
+    void blockingSubscriberDoesNotDelayRaisingThread() throws InterruptedException {
+        Event<Integer> event = new Event<>();
+        SamplePublisher<Integer> publisher = new SamplePublisher<>(event, 16, SamplePublisher.Overflow.DROP_OLDEST);
+        CountDownLatch release = new CountDownLatch(1);
+        //больше, чем потоков в любом общем пуле
+        Subscriber[] blocked = new Subscriber[64];
+        for (int i = 0; i < blocked.length; i++) {
+            blocked[i] = new Subscriber(release, 1);
+            publisher.subscribe(blocked[i]);
+        }
+        Subscriber free = new Subscriber(null, 1);
+        publisher.subscribe(free);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            event.raise(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        try {
+            assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "raise waited for subscriber");
+            //свободный подписчик получает значения, пока остальные заблокированы
+            assertTrue(free.received.await(5, TimeUnit.SECONDS));
+            assertNotEquals(Thread.currentThread(), free.thread);
+        } finally {
+            release.countDown();
+        }
+        for (Subscriber subscriber : blocked) {
+            assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void latestSampleIsDeliveredAfterBlockedSubscriberResumes() throws InterruptedException {
+        Event<Integer> event = new Event<>();
+        SamplePublisher<Integer> publisher = new SamplePublisher<>(event, 1, SamplePublisher.Overflow.LATEST);
+        CountDownLatch release = new CountDownLatch(1);
+        Subscriber subscriber = new Subscriber(release, 2);
+        publisher.subscribe(subscriber);
+
+        for (int i = 0; i < 1000; i++) {
+            event.raise(i);
+        }
+        release.countDown();
+        assertTrue(subscriber.received.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (subscriber.last.get() != 999 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(999, subscriber.last.get());
+    }
+}